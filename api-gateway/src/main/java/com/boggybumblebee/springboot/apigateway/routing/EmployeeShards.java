@@ -0,0 +1,29 @@
+package com.boggybumblebee.springboot.apigateway.routing;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.URI;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+final class EmployeeShards {
+
+    static final String SERVICE_ID = "employee-service";
+
+    private EmployeeShards() {
+
+    }
+
+    /**
+     * Whether the exchange was routed to the load-balanced employee-service.
+     */
+    static boolean isRoutedToEmployeeService(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return false;
+        }
+        URI uri = route.getUri();
+        return "lb".equals(uri.getScheme()) && SERVICE_ID.equals(uri.getHost());
+    }
+}
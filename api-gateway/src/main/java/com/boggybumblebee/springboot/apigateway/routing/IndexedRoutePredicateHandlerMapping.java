@@ -0,0 +1,66 @@
+package com.boggybumblebee.springboot.apigateway.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR;
+
+/**
+ * Only evaluates the predicates of the routes the {@link PathRouteIndex} leaves as candidates for the request path,
+ * instead of those of every route in turn.
+ */
+public class IndexedRoutePredicateHandlerMapping extends RoutePredicateHandlerMapping {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexedRoutePredicateHandlerMapping.class);
+
+    private final RouteIndexer routeIndexer;
+
+    public IndexedRoutePredicateHandlerMapping(FilteringWebHandler webHandler, RouteLocator routeLocator,
+                                               GlobalCorsProperties globalCorsProperties, Environment environment,
+                                               RouteIndexer routeIndexer) {
+        super(webHandler, routeLocator, globalCorsProperties, environment);
+        this.routeIndexer = routeIndexer;
+    }
+
+    @Override
+    protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        return routeIndexer.index()
+                .flatMap(index -> firstMatch(index.candidates(path(exchange)), exchange))
+                .map(route -> {
+                    validateRoute(route, exchange);
+                    return route;
+                });
+    }
+
+    /**
+     * The path the Path predicates match against, without the context path.
+     */
+    static PathContainer path(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().pathWithinApplication();
+    }
+
+    /**
+     * The first route whose predicate matches, evaluated in order like the gateway's own lookup.
+     */
+    static Mono<Route> firstMatch(Iterable<Route> routes, ServerWebExchange exchange) {
+        return Flux.fromIterable(routes)
+                .concatMap(route -> Mono.just(route)
+                        .filterWhen(candidate -> {
+                            exchange.getAttributes().put(GATEWAY_PREDICATE_ROUTE_ATTR, candidate.getId());
+                            return candidate.getPredicate().apply(exchange);
+                        })
+                        .doOnError(e -> log.error("Error applying predicate for route: {}", route.getId(), e))
+                        .onErrorResume(e -> Mono.empty()))
+                .next();
+    }
+}
@@ -0,0 +1,143 @@
+package com.boggybumblebee.springboot.apigateway.routing;
+
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.server.PathContainer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A prefix trie over the literal leading segments of the routes' Path patterns, narrowing the routes whose predicates
+ * have to be evaluated for a request.
+ * <p>
+ * The trie only ever rules routes out: the candidates still have their full predicates evaluated, in route order, so
+ * the first match is the same as with linear evaluation. A pattern is indexed under its segments up to the first one
+ * containing a wildcard or variable; a request collects every route indexed along its path. Routes whose predicates
+ * cannot be inspected, or that have no Path predicate, are candidates for every request.
+ */
+final class PathRouteIndex {
+
+    private final List<Route> routes;
+    private final Node root = new Node();
+    private final BitSet unindexed = new BitSet();
+
+    /**
+     * @param routes      all routes, in the order they are to be evaluated
+     * @param andCombined ids of the routes whose predicates are known to be combined with AND only, which is the case
+     *                    for routes built from route definitions; any of their Path patterns must then match
+     */
+    PathRouteIndex(List<Route> routes, Set<String> andCombined) {
+        this.routes = List.copyOf(routes);
+        for (int i = 0; i < this.routes.size(); i++) {
+            Route route = this.routes.get(i);
+            List<String> patterns = andCombined.contains(route.getId()) ? pathPatterns(route) : null;
+            if (patterns == null || patterns.isEmpty()) {
+                unindexed.set(i);
+            } else {
+                for (String pattern : patterns) {
+                    insert(pattern, i);
+                }
+            }
+        }
+    }
+
+    int size() {
+        return routes.size();
+    }
+
+    int indexed() {
+        return routes.size() - unindexed.cardinality();
+    }
+
+    /**
+     * The routes that may match the path, in route order.
+     */
+    List<Route> candidates(PathContainer path) {
+        BitSet matches = (BitSet) unindexed.clone();
+        Node node = root;
+        matches.or(node.prefixed);
+        boolean complete = true;
+        for (PathContainer.Element element : path.elements()) {
+            if (!(element instanceof PathContainer.PathSegment segment) || segment.valueToMatch().isEmpty()) {
+                continue;
+            }
+            node = node.children.get(segment.valueToMatch());
+            if (node == null) {
+                complete = false;
+                break;
+            }
+            matches.or(node.prefixed);
+        }
+        if (complete) {
+            matches.or(node.exact);
+        }
+        List<Route> candidates = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            candidates.add(routes.get(i));
+        }
+        return candidates;
+    }
+
+    private void insert(String pattern, int route) {
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (!isLiteral(segment)) {
+                node.prefixed.set(route);
+                return;
+            }
+            node = node.children.computeIfAbsent(segment, key -> new Node());
+        }
+        node.exact.set(route);
+    }
+
+    private static boolean isLiteral(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            switch (segment.charAt(i)) {
+                case '*', '?', '{', '}', '%' -> {
+                    return false;
+                }
+                default -> {
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The patterns of the route's Path predicates, or null if its predicates cannot be inspected.
+     */
+    private static List<String> pathPatterns(Route route) {
+        List<String> patterns = new ArrayList<>();
+        try {
+            route.getPredicate().accept(predicate -> {
+                if (predicate.getConfig() instanceof PathRoutePredicateFactory.Config config) {
+                    patterns.addAll(config.getPatterns());
+                }
+            });
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+        return patterns;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        /**
+         * Routes with a pattern that continues with a wildcard or variable after this node's segments.
+         */
+        private final BitSet prefixed = new BitSet();
+        /**
+         * Routes with a pattern that ends at this node.
+         */
+        private final BitSet exact = new BitSet();
+    }
+}
@@ -0,0 +1,54 @@
+package com.boggybumblebee.springboot.apigateway.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.ApplicationListener;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a {@link PathRouteIndex} of the current routes, rebuilt whenever the route locator has refreshed its routes.
+ */
+public class RouteIndexer implements ApplicationListener<RefreshRoutesResultEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteIndexer.class);
+
+    private final RouteLocator routeLocator;
+    private final RouteDefinitionLocator routeDefinitionLocator;
+    private volatile Mono<PathRouteIndex> index;
+
+    public RouteIndexer(RouteLocator routeLocator, RouteDefinitionLocator routeDefinitionLocator) {
+        this.routeLocator = routeLocator;
+        this.routeDefinitionLocator = routeDefinitionLocator;
+        this.index = build();
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+        if (event.isSuccess()) {
+            index = build();
+        }
+    }
+
+    Mono<PathRouteIndex> index() {
+        return index;
+    }
+
+    /**
+     * Built on first use and then kept; a failed build is retried by the next request.
+     */
+    private Mono<PathRouteIndex> build() {
+        return Mono.zip(
+                        routeLocator.getRoutes().collectList(),
+                        routeDefinitionLocator.getRouteDefinitions().map(RouteDefinition::getId).collect(Collectors.toSet()))
+                .map(routes -> new PathRouteIndex(routes.getT1(), routes.getT2()))
+                .doOnNext(built -> log.debug("Indexed {} of {} routes by path", built.indexed(), built.size()))
+                .cache(built -> Duration.ofMillis(Long.MAX_VALUE), error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+}
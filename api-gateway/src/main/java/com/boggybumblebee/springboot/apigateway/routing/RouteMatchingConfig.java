@@ -0,0 +1,36 @@
+package com.boggybumblebee.springboot.apigateway.routing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.RouteDefinitionLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Replaces the gateway's route lookup with the path-indexed one, see {@link IndexedRoutePredicateHandlerMapping}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "microservice.gateway.route-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RouteMatchingConfig {
+
+    @Bean
+    public RouteIndexer routeIndexer(RouteLocator routeLocator, RouteDefinitionLocator routeDefinitionLocator) {
+        return new RouteIndexer(routeLocator, routeDefinitionLocator);
+    }
+
+    /**
+     * Takes the place of the gateway's own handler mapping, which is only declared when there is none.
+     */
+    @Bean
+    public RoutePredicateHandlerMapping routePredicateHandlerMapping(FilteringWebHandler webHandler,
+                                                                     RouteLocator routeLocator,
+                                                                     GlobalCorsProperties globalCorsProperties,
+                                                                     Environment environment, RouteIndexer routeIndexer) {
+        return new IndexedRoutePredicateHandlerMapping(webHandler, routeLocator, globalCorsProperties, environment,
+                routeIndexer);
+    }
+}
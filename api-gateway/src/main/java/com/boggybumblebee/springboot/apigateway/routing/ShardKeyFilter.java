@@ -0,0 +1,92 @@
+package com.boggybumblebee.springboot.apigateway.routing;
+
+import com.boggybumblebee.springboot.common.sharding.ShardRouting;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.cacheRequestBodyAndRequest;
+
+/**
+ * Adds the department of an employee write as the shard key header, so the load balancer picks the owning shard.
+ * <p>
+ * Reads of /employee/department/{departmentId} carry the key in the path and need no header. Shard headers sent by
+ * clients are removed from every request, they are only set by the gateway and department-service.
+ */
+@Component
+public class ShardKeyFilter implements GlobalFilter, Ordered {
+
+    private final ObjectMapper objectMapper;
+
+    public ShardKeyFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange original, GatewayFilterChain chain) {
+        ServerWebExchange exchange = withoutShardHeaders(original);
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.POST
+                || !"/employee".equals(request.getPath().value())
+                || !EmployeeShards.isRoutedToEmployeeService(exchange)) {
+            return chain.filter(exchange);
+        }
+        return cacheRequestBodyAndRequest(exchange, cached -> {
+            Long departmentId = departmentId(exchange.getAttribute(CACHED_REQUEST_BODY_ATTR));
+            if (departmentId == null) {
+                return chain.filter(exchange.mutate().request(cached).build());
+            }
+            ServerHttpRequest routed = cached.mutate().header(ShardRouting.KEY_HEADER, departmentId.toString()).build();
+            return chain.filter(exchange.mutate().request(routed).build());
+        });
+    }
+
+    /**
+     * Runs before the load balancer filter resolves lb://employee-service to an instance.
+     */
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+
+    private static ServerWebExchange withoutShardHeaders(ServerWebExchange exchange) {
+        HttpHeaders headers = exchange.getRequest().getHeaders();
+        if (!headers.containsKey(ShardRouting.KEY_HEADER) && !headers.containsKey(ShardRouting.RANGE_HEADER)) {
+            return exchange;
+        }
+        ServerHttpRequest stripped = exchange.getRequest().mutate().headers(mutable -> {
+            mutable.remove(ShardRouting.KEY_HEADER);
+            mutable.remove(ShardRouting.RANGE_HEADER);
+        }).build();
+        return exchange.mutate().request(stripped).build();
+    }
+
+    private Long departmentId(DataBuffer body) {
+        if (body == null) {
+            return null;
+        }
+        // Read without moving the buffer's read position, the cached body is still to be forwarded.
+        String json = body.toString(body.readPosition(), body.readableByteCount(), StandardCharsets.UTF_8);
+        try {
+            JsonNode departmentId = objectMapper.readTree(json).path("departmentId");
+            return departmentId.canConvertToLong() ? departmentId.asLong() : null;
+        } catch (JsonProcessingException e) {
+            // Malformed bodies are forwarded unrouted and rejected by the service.
+            return null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.boggybumblebee.springboot.apigateway.routing;
+
+import com.boggybumblebee.springboot.common.sharding.ShardRoutingLoadBalancerConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Routes lb://employee-service requests to the shard owning the department, see {@link ShardKeyFilter}.
+ */
+@Configuration
+@LoadBalancerClient(name = EmployeeShards.SERVICE_ID, configuration = ShardRoutingLoadBalancerConfiguration.class)
+public class ShardRoutingConfig {
+
+}
@@ -0,0 +1,229 @@
+package com.boggybumblebee.springboot.apigateway.routing;
+
+import com.boggybumblebee.springboot.common.sharding.ShardRange;
+import com.boggybumblebee.springboot.common.sharding.ShardRouting;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers the employee reads no single shard can answer when employee-service is sharded.
+ * <p>
+ * GET /employee is sent to one replica of every shard and the results are streamed back merged by id.
+ * GET /employee/{id} is sent to the shard that allocated the id, or, if the id names none of the shards, to every
+ * shard, answering with the first that has the employee. With an unsharded employee-service the request is proxied
+ * as usual.
+ */
+@Component
+public class ShardScatterGatherFilter implements GlobalFilter, Ordered {
+
+    private static final Pattern EMPLOYEE_BY_ID = Pattern.compile("/employee/(\\d+)/?");
+
+    /**
+     * Employees buffered per shard while merging, and written per chunk of the response.
+     */
+    private static final int MERGE_PREFETCH = 256;
+    private static final int WRITE_CHUNK = 256;
+
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final WebClient webClient;
+    private final ObjectMapper objectMapper;
+
+    public ShardScatterGatherFilter(ReactiveDiscoveryClient discoveryClient, WebClient.Builder webClientBuilder,
+                                    ObjectMapper objectMapper) {
+        this.discoveryClient = discoveryClient;
+        // Lists are decoded element by element, so the default codec limit only bounds a single employee.
+        this.webClient = webClientBuilder.clone().build();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().value();
+        boolean findAll = "/employee".equals(path);
+        Matcher findById = EMPLOYEE_BY_ID.matcher(path);
+        if (request.getMethod() != HttpMethod.GET
+                || !(findAll || findById.matches())
+                || !EmployeeShards.isRoutedToEmployeeService(exchange)) {
+            return chain.filter(exchange);
+        }
+        Long id = findAll ? null : idOf(findById.group(1));
+        return discoveryClient.getInstances(EmployeeShards.SERVICE_ID).collectList().flatMap(instances -> {
+            if (!ShardRouting.isSharded(instances)) {
+                return chain.filter(exchange);
+            }
+            Map<ShardRange, List<ServiceInstance>> byRange = ShardRouting.byRange(instances);
+            if (findAll) {
+                return gatherAll(exchange, anyReplicas(byRange.values()));
+            }
+            ShardRange owner = id != null ? ShardRouting.rangeOfId(byRange.keySet(), id) : null;
+            return findFirst(exchange, owner != null
+                    ? anyReplicas(List.of(byRange.get(owner)))
+                    : anyReplicas(byRange.values()));
+        });
+    }
+
+    /**
+     * Runs once the route is known, before the load balancer picks a single instance.
+     */
+    @Override
+    public int getOrder() {
+        return RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+    }
+
+    /**
+     * Streams a merge of the shards' lists, which are each ordered by id, so neither the shard responses nor the
+     * merged list are held in memory. A shard failing before the first employee is written is answered with 502; a
+     * later failure aborts the response.
+     */
+    @SuppressWarnings("unchecked")
+    private Mono<Void> gatherAll(ServerWebExchange exchange, List<ServiceInstance> shards) {
+        Flux<JsonNode>[] lists = shards.stream()
+                .map(shard -> webClient.get().uri(shardUri(exchange, shard)).retrieve().bodyToFlux(JsonNode.class))
+                .toArray(Flux[]::new);
+        Flux<JsonNode> employees = Flux.mergeComparing(MERGE_PREFETCH,
+                Comparator.comparingLong((JsonNode employee) -> employee.path("id").asLong()), lists);
+        return writeArray(exchange, employees)
+                .onErrorMap(WebClientException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Employee shard unavailable", e));
+    }
+
+    /**
+     * Answers with the first shard that has the employee. Only a 404 counts as a miss: if no shard has it and one of
+     * them failed or could not be reached, the employee may be on that shard and the request is answered with 502.
+     */
+    private Mono<Void> findFirst(ServerWebExchange exchange, List<ServiceInstance> shards) {
+        AtomicBoolean failed = new AtomicBoolean();
+        return Flux.fromIterable(shards)
+                .flatMap(shard -> webClient.get().uri(shardUri(exchange, shard))
+                        .exchangeToMono(response -> {
+                            if (response.statusCode().is2xxSuccessful()) {
+                                return response.bodyToMono(JsonNode.class);
+                            }
+                            return response.statusCode().isSameCodeAs(HttpStatus.NOT_FOUND)
+                                    ? response.releaseBody().then(Mono.<JsonNode>empty())
+                                    : response.<JsonNode>createError();
+                        })
+                        .onErrorResume(WebClientException.class, e -> {
+                            failed.set(true);
+                            return Mono.empty();
+                        }))
+                .next()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(employee -> {
+                    if (employee.isPresent()) {
+                        return write(exchange, employee.get());
+                    }
+                    if (failed.get()) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Employee shard unavailable"));
+                    }
+                    exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+                    return exchange.getResponse().setComplete();
+                });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Object body) {
+        ServerHttpResponse response = exchange.getResponse();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(json)));
+    }
+
+    /**
+     * Writes the elements as a JSON array, a chunk at a time; nothing is committed until the first chunk is ready.
+     */
+    private Mono<Void> writeArray(ServerWebExchange exchange, Flux<JsonNode> elements) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBufferFactory buffers = response.bufferFactory();
+        Flux<DataBuffer> body = elements.index()
+                .buffer(WRITE_CHUNK)
+                .map(chunk -> {
+                    ByteArrayOutputStream json = new ByteArrayOutputStream();
+                    for (Tuple2<Long, JsonNode> element : chunk) {
+                        json.write(element.getT1() == 0 ? '[' : ',');
+                        try {
+                            objectMapper.writeValue(json, element.getT2());
+                        } catch (IOException e) {
+                            throw Exceptions.propagate(e);
+                        }
+                    }
+                    return buffers.wrap(json.toByteArray());
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> buffers.wrap(new byte[]{'['})))
+                .concatWith(Mono.fromSupplier(() -> buffers.wrap(new byte[]{']'})));
+        return response.writeWith(body);
+    }
+
+    /**
+     * One replica of each shard, picked at random.
+     */
+    private static List<ServiceInstance> anyReplicas(Collection<List<ServiceInstance>> shards) {
+        return shards.stream()
+                .map(replicas -> replicas.get(ThreadLocalRandom.current().nextInt(replicas.size())))
+                .toList();
+    }
+
+    /**
+     * The id in the path, or null if it is too large for an id; no shard allocated it then.
+     */
+    private static Long idOf(String digits) {
+        try {
+            return Long.valueOf(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static URI shardUri(ServerWebExchange exchange, ServiceInstance shard) {
+        URI uri = exchange.getRequest().getURI();
+        return UriComponentsBuilder.fromUri(shard.getUri())
+                .path(uri.getRawPath())
+                .query(uri.getRawQuery())
+                .build(true)
+                .toUri();
+    }
+}
@@ -0,0 +1,56 @@
+package com.boggybumblebee.springboot.apigateway.routing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.server.PathContainer;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathRouteIndexUnitTests {
+
+    private final Route employees = route("employees", "/employee/**");
+    private final Route status = route("status", "/employee/status");
+    private final Route byId = route("by-id", "/department/{id}");
+    private final Route catchAll = route("catch-all", "/**");
+    private final Route dsl = route("dsl", "/employee/**");
+
+    @Test
+    public void testCandidatesKeepRouteOrder() {
+        PathRouteIndex index = new PathRouteIndex(List.of(status, employees, byId, catchAll),
+                Set.of("employees", "status", "by-id", "catch-all"));
+
+        assertThat(candidates(index, "/employee/status")).containsExactly(status, employees, catchAll);
+        assertThat(candidates(index, "/employee/1")).containsExactly(employees, catchAll);
+        assertThat(candidates(index, "/employee")).containsExactly(employees, catchAll);
+        assertThat(candidates(index, "/department/1")).containsExactly(byId, catchAll);
+        assertThat(candidates(index, "/unknown")).containsExactly(catchAll);
+        assertThat(index.indexed()).isEqualTo(4);
+    }
+
+    @Test
+    public void testRoutesNotFromDefinitionsAreAlwaysCandidates() {
+        PathRouteIndex index = new PathRouteIndex(List.of(employees, dsl), Set.of("employees"));
+
+        assertThat(candidates(index, "/department/1")).containsExactly(dsl);
+        assertThat(candidates(index, "/employee/1")).containsExactly(employees, dsl);
+        assertThat(index.indexed()).isEqualTo(1);
+    }
+
+    private static List<Route> candidates(PathRouteIndex index, String path) {
+        return index.candidates(PathContainer.parsePath(path));
+    }
+
+    private static Route route(String id, String pattern) {
+        PathRoutePredicateFactory.Config config = new PathRoutePredicateFactory.Config();
+        config.setPatterns(List.of(pattern));
+        return Route.async()
+                .id(id)
+                .uri("http://localhost")
+                .predicate(new PathRoutePredicateFactory().apply(config))
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.boggybumblebee.springboot.apigateway.routing;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cloud.gateway.handler.predicate.MethodRoutePredicateFactory;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of finding the matching route with linear predicate evaluation versus the {@link PathRouteIndex}, against the
+ * size of the route table.
+ * <p>
+ * Routes look like a real table: mostly {@code /service-n/**}, with some exact paths, some path variables and some
+ * that add a Method predicate. Requests hit random routes, plus a share that matches none. Run {@link #main(String[])}
+ * from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RouteMatchingBenchmark {
+
+    private static final int EXCHANGES = 1024;
+
+    @Param({"10", "100", "500", "1000"})
+    private int routeCount;
+
+    private List<Route> routes;
+    private PathRouteIndex index;
+    private ServerWebExchange[] exchanges;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        routes = new ArrayList<>(routeCount);
+        for (int i = 0; i < routeCount; i++) {
+            routes.add(route(i));
+        }
+        Set<String> ids = routes.stream().map(Route::getId).collect(Collectors.toSet());
+        index = new PathRouteIndex(routes, ids);
+
+        Random random = new Random(42);
+        exchanges = new ServerWebExchange[EXCHANGES];
+        for (int i = 0; i < EXCHANGES; i++) {
+            int service = random.nextInt(routeCount);
+            String path = random.nextInt(10) == 0 ? "/unknown/" + i : "/service-" + service + "/items/" + i;
+            exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        }
+    }
+
+    @Benchmark
+    public Route linear() {
+        return IndexedRoutePredicateHandlerMapping.firstMatch(routes, exchange()).block();
+    }
+
+    @Benchmark
+    public Route indexed() {
+        ServerWebExchange exchange = exchange();
+        return IndexedRoutePredicateHandlerMapping.firstMatch(
+                index.candidates(IndexedRoutePredicateHandlerMapping.path(exchange)), exchange).block();
+    }
+
+    private ServerWebExchange exchange() {
+        next = (next + 1) & (EXCHANGES - 1);
+        return exchanges[next];
+    }
+
+    private static Route route(int i) {
+        String pattern = switch (i % 10) {
+            case 0 -> "/service-" + i + "/items/{id}";
+            case 1 -> "/service-" + i + "/status";
+            default -> "/service-" + i + "/**";
+        };
+        PathRoutePredicateFactory.Config path = new PathRoutePredicateFactory.Config();
+        path.setPatterns(List.of(pattern));
+        Route.AsyncBuilder route = Route.async()
+                .id("service-" + i)
+                .uri("lb://service-" + i)
+                .order(i)
+                .predicate(new PathRoutePredicateFactory().apply(path));
+        if (i % 10 == 2) {
+            MethodRoutePredicateFactory.Config method = new MethodRoutePredicateFactory.Config();
+            method.setMethods(HttpMethod.GET);
+            route.and(new MethodRoutePredicateFactory().applyAsync(method));
+        }
+        return route.build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RouteMatchingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,41 @@
+package com.boggybumblebee.springboot.common.accounting;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+
+/**
+ * Attributes the CPU time and allocation of the matched calls to the request they are made for, as
+ * "Type.method" components of its {@link RequestCost}.
+ */
+public interface AspectCostAccountable {
+
+    void componentPointcut();
+
+    /**
+     * Advice that measures a component call made on a request thread.
+     *
+     * @param joinPoint join point for advice
+     * @return result
+     * @throws Throwable whatever the call throws
+     */
+    @Around("componentPointcut()")
+    default Object accountCost(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestCost cost = RequestCost.current();
+        if (cost == null || !cost.enterComponent()) {
+            return joinPoint.proceed();
+        }
+        long cpuNanos = ResourceCounters.cpuNanos();
+        long allocatedBytes = ResourceCounters.allocatedBytes();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            long cpuDelta = ResourceCounters.cpuNanos() - cpuNanos;
+            long allocatedDelta = ResourceCounters.allocatedBytes() - allocatedBytes;
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            cost.exitComponent(ComponentNames.of(joinPoint.getThis(), method), cpuDelta, allocatedDelta);
+        }
+    }
+}
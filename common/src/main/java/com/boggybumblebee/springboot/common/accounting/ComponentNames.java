@@ -0,0 +1,48 @@
+package com.boggybumblebee.springboot.common.accounting;
+
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Names component calls after the application interface of the proxy they were made through, so that repository
+ * methods inherited from Spring Data read as "DepartmentRepository.findAll" rather than "ListCrudRepository.findAll".
+ */
+final class ComponentNames {
+
+    private static final ClassValue<Map<Method, String>> NAMES = new ClassValue<>() {
+        @Override
+        protected Map<Method, String> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private ComponentNames() {
+
+    }
+
+    static String of(Object target, Method method) {
+        Class<?> type = target != null ? target.getClass() : method.getDeclaringClass();
+        Map<Method, String> names = NAMES.get(type);
+        String name = names.get(method);
+        if (name == null) {
+            name = names.computeIfAbsent(method, key -> typeName(type) + "." + key.getName());
+        }
+        return name;
+    }
+
+    private static String typeName(Class<?> type) {
+        Class<?> userType = ClassUtils.getUserClass(type);
+        if (Proxy.isProxyClass(userType)) {
+            for (Class<?> candidate : userType.getInterfaces()) {
+                if (!candidate.getName().startsWith("org.springframework.")) {
+                    return candidate.getSimpleName();
+                }
+            }
+        }
+        return userType.getSimpleName();
+    }
+}
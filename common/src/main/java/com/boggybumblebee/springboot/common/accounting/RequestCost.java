@@ -0,0 +1,156 @@
+package com.boggybumblebee.springboot.common.accounting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * CPU time and allocation of one request, summed over the dispatches that served it, and the share of it spent in
+ * nested calls such as repository and client calls.
+ * <p>
+ * Only the work done on the request's own threads is counted, plus work handed to another thread through
+ * {@link #measure(Callable)} and added back with {@link #addDelegated(String, Measured)}. Other hand-offs, such as I/O
+ * on an event loop or a write queued for another thread, show up as the cost of issuing the call only.
+ */
+public final class RequestCost {
+
+    private static final ThreadLocal<RequestCost> CURRENT = new ThreadLocal<>();
+
+    private long cpuNanos;
+    private long allocatedBytes;
+    private final List<Component> components = new ArrayList<>(4);
+
+    private long dispatchCpuNanos;
+    private long dispatchAllocatedBytes;
+    private boolean inComponent;
+
+    /**
+     * The cost of the request being dispatched on this thread, or null outside a request.
+     */
+    public static RequestCost current() {
+        return CURRENT.get();
+    }
+
+    void enter() {
+        CURRENT.set(this);
+        dispatchCpuNanos = ResourceCounters.cpuNanos();
+        dispatchAllocatedBytes = ResourceCounters.allocatedBytes();
+    }
+
+    void exit() {
+        cpuNanos += ResourceCounters.cpuNanos() - dispatchCpuNanos;
+        allocatedBytes += ResourceCounters.allocatedBytes() - dispatchAllocatedBytes;
+        CURRENT.remove();
+    }
+
+    /**
+     * Starts attributing cost to a nested call; false if a nested call is already being attributed, so that a
+     * repository call made by another attributed call is only counted once, by the outer call.
+     */
+    public boolean enterComponent() {
+        if (inComponent) {
+            return false;
+        }
+        inComponent = true;
+        return true;
+    }
+
+    public void exitComponent(String name, long cpuNanos, long allocatedBytes) {
+        inComponent = false;
+        addComponent(name, cpuNanos, allocatedBytes);
+    }
+
+    /**
+     * Wraps a task to be run on another thread so that its cost is measured on the thread that runs it. A task that
+     * ends up running on a thread serving a request, e.g. under a caller-runs policy, is already counted there and is
+     * measured as free.
+     */
+    public static <T> Callable<Measured<T>> measure(Callable<T> task) {
+        return () -> {
+            if (CURRENT.get() != null) {
+                return new Measured<>(task.call(), 0, 0);
+            }
+            long cpu = ResourceCounters.cpuNanos();
+            long allocated = ResourceCounters.allocatedBytes();
+            T value = task.call();
+            return new Measured<>(value, ResourceCounters.cpuNanos() - cpu,
+                    ResourceCounters.allocatedBytes() - allocated);
+        };
+    }
+
+    /**
+     * Adds a task run on another thread for this request to the total and to the named nested call; called on the
+     * request's thread once the task is done.
+     */
+    public void addDelegated(String name, Measured<?> task) {
+        cpuNanos += task.cpuNanos();
+        allocatedBytes += task.allocatedBytes();
+        addComponent(name, task.cpuNanos(), task.allocatedBytes());
+    }
+
+    private void addComponent(String name, long cpuNanos, long allocatedBytes) {
+        for (Component component : components) {
+            if (component.name.equals(name)) {
+                component.add(cpuNanos, allocatedBytes);
+                return;
+            }
+        }
+        Component component = new Component(name);
+        component.add(cpuNanos, allocatedBytes);
+        components.add(component);
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public List<Component> getComponents() {
+        return Collections.unmodifiableList(components);
+    }
+
+    /**
+     * The result of a {@link #measure(Callable) measured} task and what it cost the thread that ran it.
+     */
+    public record Measured<T>(T value, long cpuNanos, long allocatedBytes) {
+
+    }
+
+    public static final class Component {
+
+        private final String name;
+        private int calls;
+        private long cpuNanos;
+        private long allocatedBytes;
+
+        Component(String name) {
+            this.name = name;
+        }
+
+        void add(long cpuNanos, long allocatedBytes) {
+            this.calls++;
+            this.cpuNanos += cpuNanos;
+            this.allocatedBytes += allocatedBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCalls() {
+            return calls;
+        }
+
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
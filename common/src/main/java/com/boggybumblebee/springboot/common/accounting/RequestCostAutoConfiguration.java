@@ -0,0 +1,36 @@
+package com.boggybumblebee.springboot.common.accounting;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(Filter.class)
+@ConditionalOnProperty(prefix = "microservice.request-cost", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(RequestCostProperties.class)
+public class RequestCostAutoConfiguration {
+
+    /**
+     * Runs inside the server observation filter, so the cost can still be added to the request's span, and inside
+     * the concurrency limit, so shed requests are not counted.
+     */
+    @Bean
+    public FilterRegistrationBean<RequestCostFilter> requestCostFilter(RequestCostProperties properties,
+                                                                       MeterRegistry registry) {
+        FilterRegistrationBean<RequestCostFilter> registration = new FilterRegistrationBean<>(
+                new RequestCostFilter(registry, properties.isSpanTags()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        registration.setAsyncSupported(true);
+        registration.setDispatcherTypes(DispatcherType.REQUEST, DispatcherType.ASYNC);
+        return registration;
+    }
+}
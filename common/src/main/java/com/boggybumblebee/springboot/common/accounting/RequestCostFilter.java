@@ -0,0 +1,168 @@
+package com.boggybumblebee.springboot.common.accounting;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.method.HandlerMethod;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures the CPU time and allocated bytes of each request on the threads that dispatch it, and publishes them as
+ * request.cpu.time and request.allocated summaries tagged with the controller method ("handler"). The total is tagged
+ * component=total; the share spent in calls matched by an {@link AspectCostAccountable} is tagged with the call.
+ * <p>
+ * Asynchronous requests are recorded once their last dispatch returns.
+ */
+public class RequestCostFilter extends OncePerRequestFilter {
+
+    /**
+     * Set by Spring MVC's handler mappings; spelled out so that common does not depend on spring-webmvc.
+     */
+    static final String HANDLER_ATTRIBUTE = "org.springframework.web.servlet.HandlerMapping.bestMatchingHandler";
+
+    private static final String COST_ATTRIBUTE = RequestCostFilter.class.getName() + ".cost";
+    private static final String UNMAPPED = "unmapped";
+    private static final String TOTAL = "total";
+
+    private final MeterRegistry registry;
+    private final boolean spanTags;
+    private final boolean cpuTime = ResourceCounters.isCpuTimeSupported();
+    private final boolean allocation = ResourceCounters.isAllocationSupported();
+    private final Map<Method, HandlerMeters> handlers = new ConcurrentHashMap<>();
+    private final HandlerMeters unmapped;
+
+    public RequestCostFilter(MeterRegistry registry, boolean spanTags) {
+        this.registry = registry;
+        this.spanTags = spanTags;
+        this.unmapped = new HandlerMeters(UNMAPPED);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestCost cost = (RequestCost) request.getAttribute(COST_ATTRIBUTE);
+        if (cost == null) {
+            cost = new RequestCost();
+            request.setAttribute(COST_ATTRIBUTE, cost);
+        }
+        cost.enter();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            cost.exit();
+            if (!request.isAsyncStarted()) {
+                record(request, cost);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestCost cost) {
+        HandlerMeters meters = meters(request.getAttribute(HANDLER_ATTRIBUTE));
+        meters.total.record(cost.getCpuNanos(), cost.getAllocatedBytes());
+        for (RequestCost.Component component : cost.getComponents()) {
+            meters.component(component.getName()).record(component.getCpuNanos(), component.getAllocatedBytes());
+        }
+        if (spanTags) {
+            ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> tag(context, cost));
+        }
+    }
+
+    private HandlerMeters meters(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return unmapped;
+        }
+        HandlerMeters meters = handlers.get(handlerMethod.getMethod());
+        if (meters == null) {
+            meters = handlers.computeIfAbsent(handlerMethod.getMethod(), method ->
+                    new HandlerMeters(handlerMethod.getBeanType().getSimpleName() + "." + method.getName()));
+        }
+        return meters;
+    }
+
+    private void tag(ServerRequestObservationContext context, RequestCost cost) {
+        if (cpuTime) {
+            context.addHighCardinalityKeyValue(KeyValue.of("cost.cpu.nanos", Long.toString(cost.getCpuNanos())));
+        }
+        if (allocation) {
+            context.addHighCardinalityKeyValue(
+                    KeyValue.of("cost.allocated.bytes", Long.toString(cost.getAllocatedBytes())));
+        }
+        for (RequestCost.Component component : cost.getComponents()) {
+            String prefix = "cost." + component.getName();
+            if (cpuTime) {
+                context.addHighCardinalityKeyValue(
+                        KeyValue.of(prefix + ".cpu.nanos", Long.toString(component.getCpuNanos())));
+            }
+            if (allocation) {
+                context.addHighCardinalityKeyValue(
+                        KeyValue.of(prefix + ".allocated.bytes", Long.toString(component.getAllocatedBytes())));
+            }
+        }
+    }
+
+    private final class HandlerMeters {
+
+        private final String handler;
+        private final Summaries total;
+        private final Map<String, Summaries> components = new ConcurrentHashMap<>();
+
+        HandlerMeters(String handler) {
+            this.handler = handler;
+            this.total = new Summaries(handler, TOTAL);
+        }
+
+        Summaries component(String name) {
+            Summaries summaries = components.get(name);
+            if (summaries == null) {
+                summaries = components.computeIfAbsent(name, key -> new Summaries(handler, key));
+            }
+            return summaries;
+        }
+    }
+
+    private final class Summaries {
+
+        private final DistributionSummary cpu;
+        private final DistributionSummary allocated;
+
+        Summaries(String handler, String component) {
+            this.cpu = cpuTime ? DistributionSummary.builder("request.cpu.time")
+                    .description("CPU time of the threads serving a request")
+                    .baseUnit("seconds")
+                    .scale(1e-9)
+                    .tags("handler", handler, "component", component)
+                    .register(registry) : null;
+            this.allocated = allocation ? DistributionSummary.builder("request.allocated")
+                    .description("Heap allocated by the threads serving a request")
+                    .baseUnit(BaseUnits.BYTES)
+                    .tags("handler", handler, "component", component)
+                    .register(registry) : null;
+        }
+
+        void record(long cpuNanos, long allocatedBytes) {
+            if (cpu != null) {
+                cpu.record(cpuNanos);
+            }
+            if (allocated != null) {
+                allocated.record(allocatedBytes);
+            }
+        }
+    }
+}
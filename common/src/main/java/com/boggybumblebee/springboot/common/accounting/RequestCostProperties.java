@@ -0,0 +1,33 @@
+package com.boggybumblebee.springboot.common.accounting;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "microservice.request-cost")
+public class RequestCostProperties {
+
+    /**
+     * Records the CPU time and allocated bytes of every request, per controller method.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Also adds the request's cost, and that of its nested calls, to the server span as tags.
+     */
+    private boolean spanTags = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isSpanTags() {
+        return spanTags;
+    }
+
+    public void setSpanTags(boolean spanTags) {
+        this.spanTags = spanTags;
+    }
+}
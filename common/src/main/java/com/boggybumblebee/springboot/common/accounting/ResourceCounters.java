@@ -0,0 +1,40 @@
+package com.boggybumblebee.springboot.common.accounting;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * CPU time and allocated bytes of the current thread, or -1 where the JVM does not measure them.
+ * <p>
+ * Both counters only ever grow, so the cost of a piece of work is the difference of two readings on the same thread.
+ */
+public final class ResourceCounters {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean HOTSPOT_THREADS =
+            THREADS instanceof com.sun.management.ThreadMXBean hotspot ? hotspot : null;
+
+    private static final boolean CPU_SUPPORTED = THREADS.isCurrentThreadCpuTimeSupported();
+    private static final boolean ALLOCATION_SUPPORTED =
+            HOTSPOT_THREADS != null && HOTSPOT_THREADS.isThreadAllocatedMemorySupported();
+
+    private ResourceCounters() {
+
+    }
+
+    public static boolean isCpuTimeSupported() {
+        return CPU_SUPPORTED && THREADS.isThreadCpuTimeEnabled();
+    }
+
+    public static boolean isAllocationSupported() {
+        return ALLOCATION_SUPPORTED && HOTSPOT_THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    public static long cpuNanos() {
+        return CPU_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    public static long allocatedBytes() {
+        return ALLOCATION_SUPPORTED ? HOTSPOT_THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+}
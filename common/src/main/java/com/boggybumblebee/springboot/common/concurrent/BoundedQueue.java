@@ -0,0 +1,71 @@
+package com.boggybumblebee.springboot.common.concurrent;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free, bounded, multi-producer queue.
+ * <p>
+ * Producers never block: when the queue is full {@link #offer(Object)} returns false and the caller applies its own
+ * drop policy. The size bound is enforced with a CAS counter in front of a ConcurrentLinkedQueue.
+ *
+ * @param <E> the element type
+ */
+public class BoundedQueue<E> {
+
+    private final ConcurrentLinkedQueue<E> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    public BoundedQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds the element unless the queue is full.
+     *
+     * @param element the element
+     * @return false if the element was rejected
+     */
+    public boolean offer(E element) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+        queue.offer(element);
+        return true;
+    }
+
+    /**
+     * Moves up to maxElements elements into the given list.
+     *
+     * @param target      the list to add to
+     * @param maxElements the maximum number of elements to move
+     * @return the number of elements moved
+     */
+    public int drainTo(List<? super E> target, int maxElements) {
+        int drained = 0;
+        E element;
+        while (drained < maxElements && (element = queue.poll()) != null) {
+            size.decrementAndGet();
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,126 @@
+package com.boggybumblebee.springboot.common.fields;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The fields a client asked for with a {@code ?fields=} parameter, e.g. {@code fields=id,name,employees.name}.
+ * <p>
+ * Nested fields are addressed with a dot; naming a nested object without a dot selects all of its fields. A missing
+ * or blank parameter selects everything.
+ */
+public final class FieldSelection {
+
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    /**
+     * Selected fields mapped to their nested selection, or null when everything is selected.
+     */
+    private final Map<String, FieldSelection> fields;
+
+    private FieldSelection(Map<String, FieldSelection> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Map<String, Set<String>> nested = new LinkedHashMap<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            int dot = name.indexOf('.');
+            if (dot < 0) {
+                // A bare name selects the whole object, which wins over any nested selection.
+                nested.put(name, null);
+            } else {
+                String parent = name.substring(0, dot);
+                if (!nested.containsKey(parent) || nested.get(parent) != null) {
+                    nested.computeIfAbsent(parent, key -> new LinkedHashSet<>()).add(name.substring(dot + 1));
+                }
+            }
+        }
+        if (nested.isEmpty()) {
+            return ALL;
+        }
+        Map<String, FieldSelection> selection = new LinkedHashMap<>();
+        nested.forEach((name, children) ->
+                selection.put(name, children == null ? ALL : parse(String.join(",", children))));
+        return new FieldSelection(Collections.unmodifiableMap(selection));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.containsKey(field);
+    }
+
+    /**
+     * The selection within a nested object; everything if the object itself or everything was selected.
+     */
+    public FieldSelection nested(String field) {
+        return fields == null ? ALL : fields.getOrDefault(field, ALL);
+    }
+
+    /**
+     * The top-level fields selected, in request order; empty when everything is selected.
+     */
+    public Set<String> names() {
+        return fields == null ? Set.of() : fields.keySet();
+    }
+
+    /**
+     * Adds fields the caller needs itself, e.g. the keys it joins on; does not narrow a selection of everything.
+     */
+    public FieldSelection with(String... required) {
+        if (fields == null) {
+            return this;
+        }
+        Map<String, FieldSelection> selection = new LinkedHashMap<>(fields);
+        for (String field : required) {
+            selection.put(field, ALL);
+        }
+        return new FieldSelection(Collections.unmodifiableMap(selection));
+    }
+
+    /**
+     * @throws IllegalArgumentException naming the first field that is not allowed
+     */
+    public FieldSelection validate(Set<String> allowed) {
+        for (String field : names()) {
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException("Unknown field '" + field + "', expected one of " + allowed);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * The {@code fields} parameter value that selects the same fields, or null for everything.
+     */
+    public String toParameter() {
+        if (fields == null) {
+            return null;
+        }
+        return fields.entrySet().stream()
+                .flatMap(entry -> entry.getValue().isAll()
+                        ? Stream.of(entry.getKey())
+                        : Stream.of(entry.getValue().toParameter().split(",")).map(child -> entry.getKey() + "." + child))
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public String toString() {
+        return fields == null ? "*" : toParameter();
+    }
+}
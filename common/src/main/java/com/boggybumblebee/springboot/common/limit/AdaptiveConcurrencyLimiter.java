@@ -0,0 +1,140 @@
+package com.boggybumblebee.springboot.common.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits requests while the number in flight is below the limit computed by the {@link LimitAlgorithm}.
+ * <p>
+ * Latency samples are aggregated lock-free per window; the thread that closes a window feeds its average to the
+ * algorithm. Critical requests are always admitted and are neither sampled nor counted against the limit, so health
+ * checks and scrapes do not take the application's share when it is overloaded. Interactive requests may use the
+ * whole limit and bulk requests only their share of it, so bulk work is shed first.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        CRITICAL,
+        INTERACTIVE,
+        BULK
+    }
+
+    private final LimitAlgorithm algorithm;
+    private final double bulkShare;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicInteger criticalInflight = new AtomicInteger();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final LongAdder windowRttNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInflight = new AtomicInteger();
+    private final AtomicBoolean windowDropped = new AtomicBoolean();
+
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    public AdaptiveConcurrencyLimiter(LimitAlgorithm algorithm, double bulkShare, Duration window, int minWindowSamples,
+                                      MeterRegistry registry) {
+        this.algorithm = algorithm;
+        this.bulkShare = bulkShare;
+        this.windowNanos = window.toNanos();
+        this.minWindowSamples = minWindowSamples;
+        Gauge.builder("concurrency.limit", algorithm, LimitAlgorithm::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("concurrency.inflight", inflight, AtomicInteger::get)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(registry);
+        Gauge.builder("concurrency.inflight.critical", criticalInflight, AtomicInteger::get)
+                .description("Critical requests currently in flight, admitted outside the limit")
+                .register(registry);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("concurrency.rejected")
+                    .description("Requests rejected by the concurrency limiter")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Admits the request or counts it as rejected; every admitted request must be {@link #release released}.
+     */
+    public boolean tryAcquire(Priority priority) {
+        if (priority == Priority.CRITICAL) {
+            criticalInflight.incrementAndGet();
+            return true;
+        }
+        int limit = algorithm.getLimit();
+        int allowed = priority == Priority.BULK ? Math.max(1, (int) (limit * bulkShare)) : limit;
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                windowMaxInflight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param startNanos when the request was admitted
+     * @param dropped    whether the request failed from overload
+     */
+    public void release(Priority priority, long startNanos, boolean dropped) {
+        if (priority == Priority.CRITICAL) {
+            criticalInflight.decrementAndGet();
+            return;
+        }
+        inflight.decrementAndGet();
+        sample(System.nanoTime() - startNanos, dropped);
+    }
+
+    public int getLimit() {
+        return algorithm.getLimit();
+    }
+
+    /**
+     * The admitted interactive and bulk requests in flight, which the limit applies to.
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public int getCriticalInflight() {
+        return criticalInflight.get();
+    }
+
+    private void sample(long rttNanos, boolean dropped) {
+        windowRttNanos.add(rttNanos);
+        windowSamples.increment();
+        if (dropped) {
+            windowDropped.set(true);
+        }
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start < windowNanos || windowSamples.sum() < minWindowSamples || !windowStart.compareAndSet(start, now)) {
+            return;
+        }
+        // Samples recorded concurrently with the reset land in either window, which only blurs the average slightly.
+        long samples = windowSamples.sumThenReset();
+        long rtt = windowRttNanos.sumThenReset();
+        int maxInflight = windowMaxInflight.getAndSet(inflight.get());
+        boolean windowHadDrops = windowDropped.getAndSet(false);
+        if (samples > 0) {
+            algorithm.onWindow(rtt / samples, maxInflight, windowHadDrops);
+        }
+    }
+}
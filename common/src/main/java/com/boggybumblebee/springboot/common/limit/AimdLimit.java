@@ -0,0 +1,36 @@
+package com.boggybumblebee.springboot.common.limit;
+
+/**
+ * Additive increase, multiplicative decrease against a fixed latency threshold.
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private volatile int limit;
+
+    public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onWindow(long rttNanos, int maxInflight, boolean dropped) {
+        if (dropped || rttNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (maxInflight * 2 >= limit) {
+            // Only grow while the limit is actually being used.
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+}
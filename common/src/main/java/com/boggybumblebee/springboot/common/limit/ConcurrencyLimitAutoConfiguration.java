@@ -0,0 +1,50 @@
+package com.boggybumblebee.springboot.common.limit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.Filter;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(Filter.class)
+@ConditionalOnProperty(prefix = "microservice.concurrency-limit", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitAutoConfiguration {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                                 MeterRegistry registry) {
+        return new AdaptiveConcurrencyLimiter(limitAlgorithm(properties), properties.getBulkShare(),
+                properties.getWindow(), properties.getMinWindowSamples(), registry);
+    }
+
+    /**
+     * Runs after the server observation filter, so rejections still show up in http.server.requests.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter,
+                                                                               ConcurrencyLimitProperties properties) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter, properties.getCritical(), properties.getBulk(), properties.getRetryAfter()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        registration.setAsyncSupported(true);
+        return registration;
+    }
+
+    private static LimitAlgorithm limitAlgorithm(ConcurrencyLimitProperties properties) {
+        return switch (properties.getAlgorithm()) {
+            case AIMD -> new AimdLimit(properties.getInitialLimit(), properties.getMinLimit(), properties.getMaxLimit(),
+                    properties.getAimd().getBackoffRatio(), properties.getAimd().getLatencyThreshold().toNanos());
+            case GRADIENT -> new GradientLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                    properties.getMaxLimit(), properties.getGradient().getTolerance(),
+                    properties.getGradient().getSmoothing(), properties.getGradient().getBaselineWindows());
+        };
+    }
+}
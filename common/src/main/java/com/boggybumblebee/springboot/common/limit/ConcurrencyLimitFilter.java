@@ -0,0 +1,141 @@
+package com.boggybumblebee.springboot.common.limit;
+
+import com.boggybumblebee.springboot.common.limit.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sheds load before it queues: requests over the adaptive limit are answered with 503 and a jittered Retry-After
+ * straight away, rather than waiting for a worker thread and timing out.
+ * <p>
+ * Asynchronous requests hold their permit until the async processing completes. Only async timeouts and 503 or 504
+ * responses count as overload; exceptions from the application release the permit like any other response.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final List<RequestPattern> critical;
+    private final List<RequestPattern> bulk;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, List<String> critical, List<String> bulk,
+                                  Duration retryAfter) {
+        this.limiter = limiter;
+        this.critical = critical.stream().map(RequestPattern::parse).toList();
+        this.bulk = bulk.stream().map(RequestPattern::parse).toList();
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = priority(request);
+        if (!limiter.tryAcquire(priority)) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            // Jitter spreads the retries of clients rejected together.
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(retryAfterSeconds + ThreadLocalRandom.current().nextLong(retryAfterSeconds + 1)));
+            response.setContentLength(0);
+            return;
+        }
+        Permit permit = new Permit(priority, System.nanoTime(), response);
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            // An application error is not a sign of overload; its latency is sampled like any other response.
+            permit.release();
+            throw e;
+        }
+        if (request.isAsyncStarted()) {
+            request.getAsyncContext().addListener(permit);
+        } else {
+            permit.release();
+        }
+    }
+
+    Priority priority(HttpServletRequest request) {
+        if (matches(critical, request)) {
+            return Priority.CRITICAL;
+        }
+        return matches(bulk, request) ? Priority.BULK : Priority.INTERACTIVE;
+    }
+
+    private static boolean matches(List<RequestPattern> patterns, HttpServletRequest request) {
+        for (RequestPattern pattern : patterns) {
+            if (pattern.matches(request.getMethod(), request.getRequestURI())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record RequestPattern(String method, String path) {
+
+        static RequestPattern parse(String pattern) {
+            String trimmed = pattern.trim();
+            int space = trimmed.indexOf(' ');
+            return space < 0
+                    ? new RequestPattern(null, trimmed)
+                    : new RequestPattern(trimmed.substring(0, space).toUpperCase(), trimmed.substring(space + 1).trim());
+        }
+
+        boolean matches(String requestMethod, String requestPath) {
+            return (method == null || method.equals(requestMethod)) && PATH_MATCHER.match(path, requestPath);
+        }
+    }
+
+    private final class Permit implements AsyncListener {
+
+        private final Priority priority;
+        private final long startNanos;
+        private final HttpServletResponse response;
+        private volatile boolean dropped;
+
+        Permit(Priority priority, long startNanos, HttpServletResponse response) {
+            this.priority = priority;
+            this.startNanos = startNanos;
+            this.response = response;
+        }
+
+        void release() {
+            int status = response.getStatus();
+            boolean overloaded = dropped || status == HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                    || status == HttpServletResponse.SC_GATEWAY_TIMEOUT;
+            limiter.release(priority, startNanos, overloaded);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            dropped = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // Released as a normal completion by onComplete, which always follows.
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.boggybumblebee.springboot.common.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "microservice.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    public enum Algorithm {
+        GRADIENT,
+        AIMD
+    }
+
+    /**
+     * Rejects requests beyond the adaptive concurrency limit with 503 instead of queueing them.
+     */
+    private boolean enabled = false;
+
+    private Algorithm algorithm = Algorithm.GRADIENT;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 500;
+
+    /**
+     * Shortest interval over which latency samples are averaged before the limit is updated.
+     */
+    private Duration window = Duration.ofMillis(100);
+
+    /**
+     * Fewest samples a window needs before the limit is updated.
+     */
+    private int minWindowSamples = 10;
+
+    /**
+     * Share of the limit bulk requests may occupy, keeping the rest for interactive requests.
+     */
+    private double bulkShare = 0.5;
+
+    /**
+     * Requests that are never rejected, as "[METHOD ]pattern" with Ant-style path patterns.
+     */
+    private List<String> critical = new ArrayList<>(List.of("/actuator/**"));
+
+    /**
+     * Bulk requests, shed first, as "[METHOD ]pattern" with Ant-style path patterns.
+     */
+    private List<String> bulk = new ArrayList<>();
+
+    /**
+     * Base of the Retry-After hint sent with rejections; clients are told to wait between one and two times this.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private Gradient gradient = new Gradient();
+
+    private Aimd aimd = new Aimd();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getMinWindowSamples() {
+        return minWindowSamples;
+    }
+
+    public void setMinWindowSamples(int minWindowSamples) {
+        this.minWindowSamples = minWindowSamples;
+    }
+
+    public double getBulkShare() {
+        return bulkShare;
+    }
+
+    public void setBulkShare(double bulkShare) {
+        this.bulkShare = bulkShare;
+    }
+
+    public List<String> getCritical() {
+        return critical;
+    }
+
+    public void setCritical(List<String> critical) {
+        this.critical = critical;
+    }
+
+    public List<String> getBulk() {
+        return bulk;
+    }
+
+    public void setBulk(List<String> bulk) {
+        this.bulk = bulk;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public Gradient getGradient() {
+        return gradient;
+    }
+
+    public void setGradient(Gradient gradient) {
+        this.gradient = gradient;
+    }
+
+    public Aimd getAimd() {
+        return aimd;
+    }
+
+    public void setAimd(Aimd aimd) {
+        this.aimd = aimd;
+    }
+
+    /**
+     * Compares each window's latency with the long-term baseline and shrinks the limit as latency grows.
+     */
+    public static class Gradient {
+
+        /**
+         * How much the window latency may exceed the baseline before the limit shrinks.
+         */
+        private double tolerance = 1.5;
+
+        /**
+         * Weight of each new limit estimate; lower values react more slowly.
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * Windows the latency baseline is averaged over.
+         */
+        private int baselineWindows = 600;
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public int getBaselineWindows() {
+            return baselineWindows;
+        }
+
+        public void setBaselineWindows(int baselineWindows) {
+            this.baselineWindows = baselineWindows;
+        }
+    }
+
+    /**
+     * Grows the limit by one per healthy window and cuts it by the backoff ratio when latency exceeds the threshold.
+     */
+    public static class Aimd {
+
+        private double backoffRatio = 0.9;
+
+        private Duration latencyThreshold = Duration.ofMillis(250);
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.boggybumblebee.springboot.common.limit;
+
+/**
+ * Gradient limit: scales the limit by the ratio of the long-term latency baseline to the current window's latency.
+ * <p>
+ * While latency stays within the tolerance of the baseline the limit grows by about its square root per window,
+ * which probes for spare capacity; once requests start queueing, latency rises and the gradient shrinks the limit
+ * towards the concurrency the service can actually sustain.
+ */
+public class GradientLimit implements LimitAlgorithm {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final int baselineWindows;
+    private double estimatedLimit;
+    private double baselineRttNanos;
+    private volatile int limit;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing,
+                         int baselineWindows) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.baselineWindows = baselineWindows;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public synchronized void onWindow(long rttNanos, int maxInflight, boolean dropped) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+        } else {
+            baselineRttNanos += (rttNanos - baselineRttNanos) / baselineWindows;
+            if (baselineRttNanos > rttNanos * 2) {
+                // Let a baseline inflated by a long overload recover quickly once latency drops.
+                baselineRttNanos *= 0.95;
+            }
+        }
+        if (!dropped && maxInflight < estimatedLimit / 2) {
+            // The limit is not the bottleneck, so latency says nothing about it.
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineRttNanos / rttNanos));
+        if (dropped) {
+            gradient = 0.5;
+        }
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,17 @@
+package com.boggybumblebee.springboot.common.limit;
+
+/**
+ * Derives the concurrency limit from the latency measured over successive sample windows.
+ */
+public interface LimitAlgorithm {
+
+    int getLimit();
+
+    /**
+     * @param rttNanos    average latency of the window's requests
+     * @param maxInflight highest concurrency reached during the window
+     * @param dropped     whether a request of the window failed from overload, i.e. threw, timed out or returned
+     *                    503 or 504
+     */
+    void onWindow(long rttNanos, int maxInflight, boolean dropped);
+}
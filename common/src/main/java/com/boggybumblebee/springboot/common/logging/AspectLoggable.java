@@ -7,8 +7,6 @@ import org.aspectj.lang.annotation.Around;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
-
 public interface AspectLoggable {
 
     Logger log = LoggerFactory.getLogger(AspectLoggable.class);
@@ -39,7 +37,7 @@ public interface AspectLoggable {
     @Around("applicationPackagePointcut() && springBeanPointcut()")
     default Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
         if (log.isDebugEnabled()) {
-            log.debug(">>> {}() with arg[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+            log.debug(">>> {}() with arg[s] = {}", joinPoint.getSignature().getName(), new LazyArguments(joinPoint.getArgs()));
         }
         try {
             Object result = joinPoint.proceed();
@@ -48,7 +46,7 @@ public interface AspectLoggable {
             }
             return result;
         } catch (IllegalArgumentException e) {
-            log.error("Illegal arg: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
+            log.error("Illegal arg: {} in {}()", new LazyArguments(joinPoint.getArgs()), joinPoint.getSignature().getName());
             throw e;
         }
     }
@@ -0,0 +1,18 @@
+package com.boggybumblebee.springboot.common.logging;
+
+import java.util.Arrays;
+
+/**
+ * Defers rendering of join point arguments until a log event is actually written. The asynchronous appender leaves
+ * that to its writer thread only if every argument is immutable; otherwise the message is rendered on the calling
+ * thread, before the method can change the arguments.
+ *
+ * @param args the arguments
+ */
+public record LazyArguments(Object[] args) {
+
+    @Override
+    public String toString() {
+        return Arrays.toString(args);
+    }
+}
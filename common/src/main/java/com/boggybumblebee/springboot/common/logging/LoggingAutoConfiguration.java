@@ -0,0 +1,17 @@
+package com.boggybumblebee.springboot.common.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration
+@ConditionalOnClass({LoggerContext.class, MeterRegistry.class})
+public class LoggingAutoConfiguration {
+
+    @Bean
+    public LoggingMetrics asyncLoggingMetrics() {
+        return new LoggingMetrics();
+    }
+}
@@ -0,0 +1,63 @@
+package com.boggybumblebee.springboot.common.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the queue and drop counts of the asynchronous logging pipeline configured by logback-spring.xml.
+ */
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders =
+                context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof RingBufferAppender appender) {
+                bind(registry, appender);
+            }
+        }
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof RateLimitingTurboFilter rateLimiter) {
+                FunctionCounter.builder("logging.rate.limited", rateLimiter, RateLimitingTurboFilter::getSuppressed)
+                        .description("Log events suppressed as repetitive")
+                        .register(registry);
+            }
+        }
+    }
+
+    private static void bind(MeterRegistry registry, RingBufferAppender appender) {
+        Gauge.builder("logging.async.queue.size", appender, RingBufferAppender::getQueueSize)
+                .description("Log events waiting to be written")
+                .tag("appender", appender.getName())
+                .register(registry);
+        Gauge.builder("logging.async.queue.capacity", appender, RingBufferAppender::getQueueCapacity)
+                .tag("appender", appender.getName())
+                .register(registry);
+        events(registry, appender, "queued", RingBufferAppender::getQueued);
+        events(registry, appender, "dropped", RingBufferAppender::getDropped);
+        events(registry, appender, "caller_runs", RingBufferAppender::getCallerRuns);
+    }
+
+    private static void events(MeterRegistry registry, RingBufferAppender appender, String result,
+                               ToDoubleFunction<RingBufferAppender> count) {
+        FunctionCounter.builder("logging.async.events", appender, count)
+                .description("Log events handled by the asynchronous appender")
+                .tag("appender", appender.getName())
+                .tag("result", result)
+                .register(registry);
+    }
+}
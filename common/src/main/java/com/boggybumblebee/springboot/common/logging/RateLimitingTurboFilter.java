@@ -0,0 +1,99 @@
+package com.boggybumblebee.springboot.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how often the same message pattern is logged per interval; WARN and ERROR are never limited.
+ * <p>
+ * Messages are keyed by their logger and format string, so a log statement that fires on every request is capped
+ * regardless of its arguments, without capping a statement of another logger that happens to share the format. At
+ * most maxPatterns patterns are tracked; patterns beyond that are not limited.
+ */
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Window>> windowsByLogger =
+            new ConcurrentHashMap<>();
+    private final AtomicInteger patterns = new AtomicInteger();
+    private final LongAdder suppressed = new LongAdder();
+
+    private int maxPerInterval = 100;
+    private long intervalMillis = 1000;
+    private int maxPatterns = 1000;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            // Disabled levels are rejected later by the logger itself at no extra cost.
+            return FilterReply.NEUTRAL;
+        }
+        ConcurrentHashMap<String, Window> windows = windowsByLogger.get(logger.getName());
+        Window window = windows != null ? windows.get(format) : null;
+        if (window == null) {
+            if (patterns.get() >= maxPatterns) {
+                return FilterReply.NEUTRAL;
+            }
+            window = windowsByLogger.computeIfAbsent(logger.getName(), key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(format, key -> {
+                        patterns.incrementAndGet();
+                        return new Window();
+                    });
+        }
+        if (window.tryAcquire(System.currentTimeMillis(), intervalMillis, maxPerInterval)) {
+            return FilterReply.NEUTRAL;
+        }
+        suppressed.increment();
+        return FilterReply.DENY;
+    }
+
+    public long getSuppressed() {
+        return suppressed.sum();
+    }
+
+    public int getMaxPerInterval() {
+        return maxPerInterval;
+    }
+
+    public void setMaxPerInterval(int maxPerInterval) {
+        this.maxPerInterval = maxPerInterval;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    public int getMaxPatterns() {
+        return maxPatterns;
+    }
+
+    public void setMaxPatterns(int maxPatterns) {
+        this.maxPatterns = maxPatterns;
+    }
+
+    private static final class Window {
+
+        private volatile long start;
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean tryAcquire(long now, long intervalMillis, int maxPerInterval) {
+            if (now - start >= intervalMillis) {
+                // Racing resets only allow a few extra events through at the start of an interval.
+                start = now;
+                count.set(0);
+            }
+            return count.incrementAndGet() <= maxPerInterval;
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.boggybumblebee.springboot.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import com.boggybumblebee.springboot.common.concurrent.BoundedQueue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Asynchronous appender backed by a lock-free bounded queue and a single writer thread.
+ * <p>
+ * The thread name and the MDC are captured on the calling thread. The message is formatted there too, unless all its
+ * arguments are immutable values, or {@link LazyArguments} wrapping only immutable values, whose rendering is left to
+ * the writer thread.
+ * <p>
+ * Attached appenders are only ever called by one thread at a time and see the events in queue order: under
+ * CALLER_RUNS, a caller that finds the queue full waits for the writer's current batch, then writes the queued events
+ * and its own in its place.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    /**
+     * What happens to an event that arrives while the queue is full (or, for DROP_BELOW_WARN, nearly full).
+     */
+    public enum OverflowPolicy {
+        /**
+         * Drop the event.
+         */
+        DROP,
+        /**
+         * Drop events below WARN once the queue is 80% full, and every event once it is full.
+         */
+        DROP_BELOW_WARN,
+        /**
+         * Write the queued events and then this one on the calling thread, after the writer's current batch.
+         */
+        CALLER_RUNS
+    }
+
+    private static final int DRAIN_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    /**
+     * Held while draining and writing, so that a caller writing in place of the writer keeps the queue's order.
+     */
+    private final Lock writeLock = new ReentrantLock();
+
+    private int queueCapacity = 8192;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_BELOW_WARN;
+    private BoundedQueue<ILoggingEvent> queue;
+    private int discardingThreshold;
+    private Thread writer;
+    private volatile boolean writerParked;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        queue = new BoundedQueue<>(queueCapacity);
+        discardingThreshold = queueCapacity * 4 / 5;
+        writer = new Thread(this::writeLoop, "log-writer-" + getName());
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    /**
+     * Drains the queue before stopping the attached appenders.
+     */
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (overflowPolicy == OverflowPolicy.DROP_BELOW_WARN
+                && queue.size() >= discardingThreshold
+                && !event.getLevel().isGreaterOrEqual(Level.WARN)) {
+            dropped.increment();
+            return;
+        }
+        // Captured on the calling thread, everything else is rendered by the writer.
+        event.getThreadName();
+        event.getMDCPropertyMap();
+        if (!isDeferrable(event.getArgumentArray())) {
+            // The arguments may change once the call returns, so the message is rendered while they are current.
+            event.getFormattedMessage();
+        }
+        if (queue.offer(event)) {
+            queued.increment();
+            if (writerParked) {
+                LockSupport.unpark(writer);
+            }
+        } else if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+            callerRuns.increment();
+            writeInPlaceOfWriter(event);
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * True if rendering the arguments later gives the same message: they are immutable values, or LazyArguments that
+     * wrap only immutable values.
+     */
+    private static boolean isDeferrable(Object[] arguments) {
+        if (arguments == null) {
+            return true;
+        }
+        for (Object argument : arguments) {
+            if (argument instanceof LazyArguments lazy ? !isDeferrable(lazy.args()) : !isImmutable(argument)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isImmutable(Object argument) {
+        return argument == null || argument instanceof String || argument instanceof Enum<?>
+                || argument instanceof Integer || argument instanceof Long || argument instanceof Short
+                || argument instanceof Byte || argument instanceof Double || argument instanceof Float
+                || argument instanceof Boolean || argument instanceof Character;
+    }
+
+    private void writeInPlaceOfWriter(ILoggingEvent event) {
+        List<ILoggingEvent> events = new ArrayList<>(queueCapacity + 1);
+        writeLock.lock();
+        try {
+            // Only the events queued so far, so that callers queuing meanwhile cannot keep this one writing.
+            queue.drainTo(events, queueCapacity);
+            events.add(event);
+            write(events);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        List<ILoggingEvent> events = new ArrayList<>(DRAIN_BATCH);
+        while (isStarted()) {
+            if (!drainAndWrite(events)) {
+                writerParked = true;
+                if (queue.size() == 0 && isStarted()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerParked = false;
+            }
+        }
+        while (drainAndWrite(events)) {
+            // Until the queue is empty.
+        }
+    }
+
+    private boolean drainAndWrite(List<ILoggingEvent> events) {
+        writeLock.lock();
+        try {
+            if (queue.drainTo(events, DRAIN_BATCH) == 0) {
+                return false;
+            }
+            write(events);
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void write(List<ILoggingEvent> events) {
+        for (ILoggingEvent event : events) {
+            try {
+                appenders.appendLoopOnAppenders(event);
+            } catch (RuntimeException e) {
+                addError("Failed to write log event", e);
+            }
+        }
+        events.clear();
+    }
+
+    public long getQueued() {
+        return queued.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getCallerRuns() {
+        return callerRuns.sum();
+    }
+
+    public int getQueueSize() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
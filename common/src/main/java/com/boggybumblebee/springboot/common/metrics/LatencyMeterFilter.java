@@ -0,0 +1,43 @@
+package com.boggybumblebee.springboot.common.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+public class LatencyMeterFilter implements MeterFilter {
+
+    private final LatencyMetricsProperties properties;
+    private final double[] serviceLevelObjectives;
+
+    public LatencyMeterFilter(LatencyMetricsProperties properties) {
+        this.properties = properties;
+        // The latency threshold is always a bucket boundary so the error-budget burn is exact.
+        this.serviceLevelObjectives = Stream.concat(properties.getSlo().stream(), Stream.of(properties.getLatencyThreshold()))
+                .mapToDouble(Duration::toNanos)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    /**
+     * Enables percentile histograms and SLO buckets on the configured latency timers.
+     *
+     * @param id     the Meter Id
+     * @param config the configuration so far
+     * @return the merged configuration
+     */
+    @Override
+    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (id.getType() != Meter.Type.TIMER || !properties.getMeters().contains(id.getName())) {
+            return config;
+        }
+        return DistributionStatisticConfig.builder()
+                .percentilesHistogram(true)
+                .serviceLevelObjectives(serviceLevelObjectives)
+                .build()
+                .merge(config);
+    }
+}
@@ -0,0 +1,26 @@
+package com.boggybumblebee.springboot.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration(after = CompositeMeterRegistryAutoConfiguration.class)
+@EnableConfigurationProperties(LatencyMetricsProperties.class)
+public class LatencyMetricsAutoConfiguration {
+
+    @Bean
+    public LatencyMeterFilter latencyMeterFilter(LatencyMetricsProperties properties) {
+        return new LatencyMeterFilter(properties);
+    }
+
+    @Bean
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnAvailableEndpoint(endpoint = LatencySummaryEndpoint.class)
+    public LatencySummaryEndpoint latencySummaryEndpoint(MeterRegistry registry, LatencyMetricsProperties properties) {
+        return new LatencySummaryEndpoint(registry, properties);
+    }
+}
@@ -0,0 +1,91 @@
+package com.boggybumblebee.springboot.common.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "microservice.metrics")
+public class LatencyMetricsProperties {
+
+    /**
+     * Timers that get percentile histograms, SLO buckets and appear in the latency endpoint.
+     */
+    private List<String> meters = new ArrayList<>(List.of("http.server.requests", "http.client.requests"));
+
+    /**
+     * Percentiles reported per endpoint.
+     */
+    private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.95, 0.99));
+
+    /**
+     * Service Level Objective bucket boundaries.
+     */
+    private List<Duration> slo = new ArrayList<>(List.of(
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2)));
+
+    /**
+     * Fraction of requests that must not fail with a server error.
+     */
+    private double availabilityObjective = 0.999;
+
+    /**
+     * Latency a request must complete within to count as good.
+     */
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    /**
+     * Fraction of requests that must complete within the latency threshold.
+     */
+    private double latencyObjective = 0.99;
+
+    public List<String> getMeters() {
+        return meters;
+    }
+
+    public void setMeters(List<String> meters) {
+        this.meters = meters;
+    }
+
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(List<Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public List<Duration> getSlo() {
+        return slo;
+    }
+
+    public void setSlo(List<Duration> slo) {
+        this.slo = slo;
+    }
+
+    public double getAvailabilityObjective() {
+        return availabilityObjective;
+    }
+
+    public void setAvailabilityObjective(double availabilityObjective) {
+        this.availabilityObjective = availabilityObjective;
+    }
+
+    public Duration getLatencyThreshold() {
+        return latencyThreshold;
+    }
+
+    public void setLatencyThreshold(Duration latencyThreshold) {
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    public double getLatencyObjective() {
+        return latencyObjective;
+    }
+
+    public void setLatencyObjective(double latencyObjective) {
+        this.latencyObjective = latencyObjective;
+    }
+}
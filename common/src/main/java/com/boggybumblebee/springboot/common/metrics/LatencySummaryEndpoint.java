@@ -0,0 +1,160 @@
+package com.boggybumblebee.springboot.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Actuator endpoint that summarises the latency percentiles and error-budget burn per endpoint.
+ * <p>
+ * Percentiles are estimated from the merged histogram buckets of every meter sharing the same endpoint tags, so the
+ * figures cover all status codes of an endpoint and reflect the recent distribution window only. Both burn rates are
+ * computed from the same window, so a recent outage shows in the availability burn as soon as in the latency burn.
+ */
+@Endpoint(id = "latency")
+public class LatencySummaryEndpoint {
+
+    /**
+     * Tags that split one endpoint into several meters, and are therefore merged.
+     */
+    private static final Set<String> OUTCOME_TAGS = Set.of("status", "outcome", "exception", "error");
+
+    private final MeterRegistry registry;
+    private final LatencyMetricsProperties properties;
+
+    public LatencySummaryEndpoint(MeterRegistry registry, LatencyMetricsProperties properties) {
+        this.registry = registry;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public Map<String, List<EndpointLatency>> summary() {
+        Map<String, List<EndpointLatency>> summary = new LinkedHashMap<>();
+        properties.getMeters().forEach(meter -> summary.put(meter, summary(meter)));
+        return summary;
+    }
+
+    @ReadOperation
+    public List<EndpointLatency> summary(@Selector String meter) {
+        Map<String, Aggregate> aggregates = new TreeMap<>();
+        registry.find(meter).timers().forEach(timer -> aggregates
+                .computeIfAbsent(endpoint(timer), key -> new Aggregate())
+                .add(timer));
+        return aggregates.entrySet().stream()
+                .map(entry -> entry.getValue().toEndpointLatency(entry.getKey()))
+                .toList();
+    }
+
+    private static String endpoint(Timer timer) {
+        return timer.getId().getTags().stream()
+                .filter(tag -> !OUTCOME_TAGS.contains(tag.getKey()))
+                .map(Tag::getValue)
+                .collect(Collectors.joining(" "));
+    }
+
+    private static boolean isServerError(Timer timer) {
+        String outcome = timer.getId().getTag("outcome");
+        String status = timer.getId().getTag("status");
+        return "SERVER_ERROR".equals(outcome) || (status != null && status.startsWith("5"));
+    }
+
+    private static double burn(double badFraction, double objective) {
+        return objective >= 1 ? 0 : badFraction / (1 - objective);
+    }
+
+    private static String percentileName(double percentile) {
+        return "p" + BigDecimal.valueOf(percentile * 100).stripTrailingZeros().toPlainString();
+    }
+
+    private final class Aggregate {
+
+        private final TreeMap<Double, Double> cumulativeCounts = new TreeMap<>();
+        private long count;
+        private long serverErrors;
+        private double windowedCount;
+        private double windowedServerErrors;
+        private double maxMillis;
+
+        void add(Timer timer) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            count += snapshot.count();
+            if (isServerError(timer)) {
+                serverErrors += snapshot.count();
+            }
+            maxMillis = Math.max(maxMillis, snapshot.max(TimeUnit.MILLISECONDS));
+            CountAtBucket[] buckets = snapshot.histogramCounts();
+            for (CountAtBucket bucket : buckets) {
+                cumulativeCounts.merge(bucket.bucket(TimeUnit.MILLISECONDS), bucket.count(), Double::sum);
+            }
+            // The buckets are cumulative, so the last holds every request of the window up to the largest bucket.
+            double windowed = buckets.length == 0 ? 0 : buckets[buckets.length - 1].count();
+            windowedCount += windowed;
+            if (isServerError(timer)) {
+                windowedServerErrors += windowed;
+            }
+        }
+
+        EndpointLatency toEndpointLatency(String endpoint) {
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            properties.getPercentiles().forEach(p -> percentiles.put(percentileName(p), percentile(p)));
+
+            double windowed = cumulativeCounts.isEmpty() ? 0 : cumulativeCounts.lastEntry().getValue();
+            Map.Entry<Double, Double> withinThreshold =
+                    cumulativeCounts.floorEntry((double) properties.getLatencyThreshold().toMillis());
+            double slow = windowed - (withinThreshold == null ? 0 : withinThreshold.getValue());
+
+            return new EndpointLatency(endpoint, count, serverErrors, percentiles, maxMillis,
+                    burn(windowedCount == 0 ? 0 : windowedServerErrors / windowedCount,
+                            properties.getAvailabilityObjective()),
+                    burn(windowed == 0 ? 0 : slow / windowed, properties.getLatencyObjective()));
+        }
+
+        /**
+         * Linear interpolation inside the first bucket whose cumulative count reaches the requested rank.
+         */
+        private double percentile(double percentile) {
+            if (cumulativeCounts.isEmpty() || cumulativeCounts.lastEntry().getValue() == 0) {
+                return 0;
+            }
+            double rank = percentile * cumulativeCounts.lastEntry().getValue();
+            double lowerBound = 0;
+            double lowerCount = 0;
+            for (Map.Entry<Double, Double> bucket : cumulativeCounts.entrySet()) {
+                if (bucket.getValue() >= rank) {
+                    double width = bucket.getValue() - lowerCount;
+                    double fraction = width == 0 ? 1 : (rank - lowerCount) / width;
+                    double value = lowerBound + fraction * (bucket.getKey() - lowerBound);
+                    return maxMillis > 0 ? Math.min(value, maxMillis) : value;
+                }
+                lowerBound = bucket.getKey();
+                lowerCount = bucket.getValue();
+            }
+            return maxMillis;
+        }
+    }
+
+    /**
+     * Latency summary of a single endpoint, in milliseconds. The count and server errors are totals since the start;
+     * the other figures cover the distribution window.
+     * <p>
+     * A burn rate of 1 consumes the error budget exactly as fast as the objective allows; above 1 the budget runs out
+     * before the end of the objective period.
+     */
+    public record EndpointLatency(String endpoint, long count, long serverErrors, Map<String, Double> percentiles,
+                                  double max, double availabilityBurnRate, double latencyBurnRate) {
+    }
+}
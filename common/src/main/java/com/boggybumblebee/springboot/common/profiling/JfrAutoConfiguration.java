@@ -0,0 +1,27 @@
+package com.boggybumblebee.springboot.common.profiling;
+
+import jdk.jfr.FlightRecorder;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration
+@ConditionalOnClass(FlightRecorder.class)
+@ConditionalOnProperty(prefix = "microservice.profiling", name = "enabled", havingValue = "true")
+@ConditionalOnAvailableEndpoint(endpoint = JfrEndpoint.class)
+@EnableConfigurationProperties(JfrProperties.class)
+public class JfrAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    public JfrRecordings jfrRecordings(JfrProperties properties) {
+        return new JfrRecordings(properties);
+    }
+
+    @Bean
+    public JfrEndpoint jfrEndpoint(JfrRecordings recordings) {
+        return new JfrEndpoint(recordings);
+    }
+}
@@ -0,0 +1,90 @@
+package com.boggybumblebee.springboot.common.profiling;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint for on-demand Flight Recorder recordings.
+ * <ul>
+ *     <li>{@code POST /actuator/jfr} with optional {@code settings} and {@code duration} starts a recording,</li>
+ *     <li>{@code GET /actuator/jfr/{id}} shows its state and, once finished, its summary,</li>
+ *     <li>{@code POST /actuator/jfr/{id}} stops it early,</li>
+ *     <li>{@code GET /actuator/jfr/{id}/{name}.jfr} downloads the recording, e.g. for JDK Mission Control,</li>
+ *     <li>{@code DELETE /actuator/jfr/{id}} deletes it.</li>
+ * </ul>
+ */
+@WebEndpoint(id = "jfr")
+public class JfrEndpoint {
+
+    private static final int STATUS_CONFLICT = 409;
+
+    private final JfrRecordings recordings;
+
+    public JfrEndpoint(JfrRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @ReadOperation
+    public List<JfrRecordings.RecordingInfo> recordings() {
+        return recordings.list();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable String settings, @Nullable Duration duration) {
+        try {
+            return new WebEndpointResponse<>(recordings.start(settings, duration));
+        } catch (IllegalArgumentException | IOException | ParseException e) {
+            return error(e.getMessage(), WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return error(e.getMessage(), STATUS_CONFLICT);
+        }
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<JfrRecordings.RecordingInfo> recording(@Selector long id) {
+        return recordings.get(id)
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<JfrRecordings.RecordingInfo> stop(@Selector long id) {
+        return recordings.stop(id)
+                .map(WebEndpointResponse::new)
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    /**
+     * @param name any file name, used by clients that save the download under the last path segment
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> download(@Selector long id, @Selector String name) {
+        return recordings.file(id)
+                .<WebEndpointResponse<Resource>>map(file -> new WebEndpointResponse<>(new FileSystemResource(file)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> delete(@Selector long id) {
+        return new WebEndpointResponse<>(recordings.delete(id)
+                ? WebEndpointResponse.STATUS_NO_CONTENT
+                : WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    private static WebEndpointResponse<Object> error(String message, int status) {
+        return new WebEndpointResponse<>(Map.of("error", message), status);
+    }
+}
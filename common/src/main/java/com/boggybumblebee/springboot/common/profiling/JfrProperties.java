@@ -0,0 +1,124 @@
+package com.boggybumblebee.springboot.common.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "microservice.profiling")
+public class JfrProperties {
+
+    /**
+     * Allows Flight Recorder recordings to be started through the jfr actuator endpoint.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JFR settings a recording may use: the JDK's "default" (about 1% overhead) or "profile" (about 2%), or custom
+     * .jfc configurations on the classpath.
+     */
+    private List<String> allowedSettings = new ArrayList<>(List.of("default", "profile"));
+
+    private String defaultSettings = "default";
+
+    private Duration defaultDuration = Duration.ofSeconds(60);
+
+    /**
+     * Longest a recording may run; longer requests are shortened to this.
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * Largest a recording file may grow before its oldest data is discarded.
+     */
+    private long maxSizeBytes = 256L * 1024 * 1024;
+
+    /**
+     * Where recordings are written; the system temporary directory when not set.
+     */
+    private Path directory;
+
+    /**
+     * Finished recordings kept for download; the oldest is deleted when a new recording starts.
+     */
+    private int retainedRecordings = 3;
+
+    /**
+     * Entries per list of the recording summary.
+     */
+    private int summaryTopN = 20;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getAllowedSettings() {
+        return allowedSettings;
+    }
+
+    public void setAllowedSettings(List<String> allowedSettings) {
+        this.allowedSettings = allowedSettings;
+    }
+
+    public String getDefaultSettings() {
+        return defaultSettings;
+    }
+
+    public void setDefaultSettings(String defaultSettings) {
+        this.defaultSettings = defaultSettings;
+    }
+
+    public Duration getDefaultDuration() {
+        return defaultDuration;
+    }
+
+    public void setDefaultDuration(Duration defaultDuration) {
+        this.defaultDuration = defaultDuration;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    public void setMaxSizeBytes(long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public int getRetainedRecordings() {
+        return retainedRecordings;
+    }
+
+    public void setRetainedRecordings(int retainedRecordings) {
+        this.retainedRecordings = retainedRecordings;
+    }
+
+    public int getSummaryTopN() {
+        return summaryTopN;
+    }
+
+    public void setSummaryTopN(int summaryTopN) {
+        this.summaryTopN = summaryTopN;
+    }
+}
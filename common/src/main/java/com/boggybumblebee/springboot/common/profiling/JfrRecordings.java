@@ -0,0 +1,280 @@
+package com.boggybumblebee.springboot.common.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Starts, stops and keeps Flight Recorder recordings on behalf of the jfr endpoint.
+ * <p>
+ * Guard rails for production use: only one recording runs at a time, only the allowed settings may be used, each
+ * recording is bounded in duration and size, and only the most recent recordings are kept on disk. Summaries are
+ * computed once per recording on a single low-priority thread.
+ */
+public class JfrRecordings implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecordings.class);
+
+    private static final int FILE_WAIT_ATTEMPTS = 100;
+
+    /**
+     * Events of the JDK settings that carry the process environment, system properties and command line, which may
+     * hold secrets; they are never recorded, since recordings are downloadable.
+     */
+    static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    public enum State {
+        RUNNING,
+        SUMMARIZING,
+        FINISHED,
+        FAILED
+    }
+
+    /**
+     * @param summary the summary, once the recording has finished
+     * @param error   why the recording could not be read, if it failed
+     */
+    public record RecordingInfo(long id, String settings, State state, Instant started, Duration duration,
+                                long sizeBytes, JfrSummary summary, String error) {
+    }
+
+    private final JfrProperties properties;
+    private final Path directory;
+    private final Map<Long, Tracked> recordings = new LinkedHashMap<>();
+    private final ExecutorService summarizer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jfr-summary");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private final FlightRecorderListener listener = new FlightRecorderListener() {
+        @Override
+        public void recordingStateChanged(Recording recording) {
+            if (recording.getState() == RecordingState.STOPPED || recording.getState() == RecordingState.CLOSED) {
+                summarizeIfStopped(recording.getId());
+            }
+        }
+    };
+
+    public JfrRecordings(JfrProperties properties) {
+        this.properties = properties;
+        this.directory = properties.getDirectory() != null
+                ? properties.getDirectory()
+                : Path.of(System.getProperty("java.io.tmpdir"));
+        FlightRecorder.addListener(listener);
+    }
+
+    /**
+     * @param settings the JFR settings, or null for the default ones
+     * @param duration how long to record, or null for the default; capped at the maximum duration
+     * @throws IllegalArgumentException if the settings are not allowed
+     * @throws IllegalStateException    if a recording is already running
+     */
+    public synchronized RecordingInfo start(String settings, Duration duration) throws IOException, ParseException {
+        String name = settings != null ? settings : properties.getDefaultSettings();
+        if (!properties.getAllowedSettings().contains(name)) {
+            throw new IllegalArgumentException("Settings '" + name + "' are not allowed, expected one of "
+                    + properties.getAllowedSettings());
+        }
+        for (Tracked tracked : recordings.values()) {
+            if (tracked.isRunning()) {
+                throw new IllegalStateException("Recording " + tracked.recording.getId() + " is still running");
+            }
+        }
+        Duration length = duration != null ? duration : properties.getDefaultDuration();
+        if (length.compareTo(properties.getMaxDuration()) > 0) {
+            length = properties.getMaxDuration();
+        }
+        evictOldest();
+        Files.createDirectories(directory);
+        Recording recording = new Recording(Configuration.getConfiguration(name));
+        SENSITIVE_EVENTS.forEach(recording::disable);
+        Path file = directory.resolve("recording-" + ProcessHandle.current().pid() + "-" + recording.getId() + ".jfr");
+        recording.setName("actuator-" + recording.getId());
+        recording.setToDisk(true);
+        recording.setMaxSize(properties.getMaxSizeBytes());
+        recording.setDuration(length);
+        recording.setDestination(file);
+        Tracked tracked = new Tracked(recording, file, name, Instant.now(), length);
+        recordings.put(recording.getId(), tracked);
+        recording.start();
+        log.info("Started JFR recording {} with {} settings for {}", recording.getId(), name, length);
+        return tracked.info();
+    }
+
+    /**
+     * Stops the recording early; its summary is computed in the background.
+     */
+    public Optional<RecordingInfo> stop(long id) {
+        Tracked tracked;
+        synchronized (this) {
+            tracked = recordings.get(id);
+        }
+        if (tracked == null) {
+            return Optional.empty();
+        }
+        if (tracked.isRunning()) {
+            tracked.recording.stop();
+        }
+        summarizeIfStopped(id);
+        return Optional.of(tracked.info());
+    }
+
+    public synchronized List<RecordingInfo> list() {
+        List<RecordingInfo> infos = new ArrayList<>(recordings.size());
+        recordings.values().forEach(tracked -> infos.add(tracked.info()));
+        return infos;
+    }
+
+    public Optional<RecordingInfo> get(long id) {
+        summarizeIfStopped(id);
+        synchronized (this) {
+            return Optional.ofNullable(recordings.get(id)).map(Tracked::info);
+        }
+    }
+
+    /**
+     * The recording file, once the recording has been written.
+     */
+    public synchronized Optional<Path> file(long id) {
+        Tracked tracked = recordings.get(id);
+        if (tracked == null || tracked.isRunning() || !Files.exists(tracked.file)) {
+            return Optional.empty();
+        }
+        return Optional.of(tracked.file);
+    }
+
+    public synchronized boolean delete(long id) {
+        Tracked tracked = recordings.remove(id);
+        if (tracked == null) {
+            return false;
+        }
+        tracked.delete();
+        return true;
+    }
+
+    @Override
+    public synchronized void close() {
+        FlightRecorder.removeListener(listener);
+        summarizer.shutdownNow();
+        recordings.values().forEach(Tracked::delete);
+        recordings.clear();
+    }
+
+    private void summarizeIfStopped(long id) {
+        Tracked tracked;
+        synchronized (this) {
+            tracked = recordings.get(id);
+            if (tracked == null || tracked.isRunning() || tracked.summary != null) {
+                return;
+            }
+            tracked.summary = new CompletableFuture<>();
+        }
+        CompletableFuture<JfrSummary> summary = tracked.summary;
+        summarizer.execute(() -> {
+            try {
+                awaitFile(tracked.file);
+                summary.complete(JfrSummary.read(tracked.file, properties.getSummaryTopN()));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Unable to summarise JFR recording {}: {}", id, e.toString());
+                summary.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * JFR may report the recording as stopped slightly before it has finished writing the destination file.
+     */
+    private static void awaitFile(Path file) {
+        for (int attempt = 0; attempt < FILE_WAIT_ATTEMPTS && !Files.exists(file); attempt++) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+    }
+
+    private void evictOldest() {
+        while (recordings.size() >= Math.max(1, properties.getRetainedRecordings())) {
+            Long oldest = recordings.keySet().iterator().next();
+            recordings.remove(oldest).delete();
+        }
+    }
+
+    private static final class Tracked {
+
+        private final Recording recording;
+        private final Path file;
+        private final String settings;
+        private final Instant started;
+        private final Duration duration;
+        private volatile CompletableFuture<JfrSummary> summary;
+
+        Tracked(Recording recording, Path file, String settings, Instant started, Duration duration) {
+            this.recording = recording;
+            this.file = file;
+            this.settings = settings;
+            this.started = started;
+            this.duration = duration;
+        }
+
+        boolean isRunning() {
+            RecordingState state = recording.getState();
+            return state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+        }
+
+        RecordingInfo info() {
+            long size = 0;
+            try {
+                size = Files.exists(file) ? Files.size(file) : recording.getSize();
+            } catch (IOException e) {
+                // Reported as 0.
+            }
+            CompletableFuture<JfrSummary> current = summary;
+            State state;
+            JfrSummary result = null;
+            String error = null;
+            if (isRunning()) {
+                state = State.RUNNING;
+            } else if (current == null || !current.isDone()) {
+                state = State.SUMMARIZING;
+            } else if (current.isCompletedExceptionally()) {
+                state = State.FAILED;
+                error = current.handle((value, e) -> e.toString()).join();
+            } else {
+                state = State.FINISHED;
+                result = current.join();
+            }
+            return new RecordingInfo(recording.getId(), settings, state, started, duration, size, result, error);
+        }
+
+        void delete() {
+            recording.close();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Unable to delete JFR recording {}: {}", file, e.toString());
+            }
+        }
+    }
+}
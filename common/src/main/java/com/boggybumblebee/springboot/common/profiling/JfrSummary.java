@@ -0,0 +1,146 @@
+package com.boggybumblebee.springboot.common.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The hot methods, allocation sites and contended locks of a recording.
+ * <p>
+ * Hot methods are the top frames of the execution samples. Allocation sites and locks are attributed to the first
+ * frame outside the JDK, since the top frame there is mostly a collection or lock implementation.
+ *
+ * @param executionSamples        execution samples in the recording
+ * @param hotMethods              methods by the samples they were on top of the stack in
+ * @param sampledAllocationBytes  bytes allocated according to the allocation samples
+ * @param allocationSites         code by the bytes it allocated
+ * @param lockContention          monitors and parked-on locks by the time threads were blocked on them
+ */
+public record JfrSummary(long executionSamples, List<MethodSamples> hotMethods,
+                         long sampledAllocationBytes, List<AllocationSite> allocationSites,
+                         List<LockContention> lockContention) {
+
+    private static final String[] JDK_PACKAGES = {"java.", "javax.", "jdk.", "sun.", "com.sun."};
+
+    public record MethodSamples(String method, long samples, double share) {
+    }
+
+    public record AllocationSite(String site, long bytes, double share) {
+    }
+
+    public record LockContention(String lock, String site, long events, long blockedMillis) {
+    }
+
+    /**
+     * Reads the recording event by event, so the file is never held in memory as a whole.
+     */
+    public static JfrSummary read(Path file, int topN) throws IOException {
+        Map<String, Long> samples = new HashMap<>();
+        Map<String, Long> allocations = new HashMap<>();
+        Map<LockKey, long[]> locks = new HashMap<>();
+        long totalSamples = 0;
+        long totalAllocated = 0;
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                switch (event.getEventType().getName()) {
+                    case "jdk.ExecutionSample" -> {
+                        samples.merge(frame(event.getStackTrace(), false), 1L, Long::sum);
+                        totalSamples++;
+                    }
+                    case "jdk.ObjectAllocationSample" -> {
+                        long weight = event.getLong("weight");
+                        allocations.merge(frame(event.getStackTrace(), true), weight, Long::sum);
+                        totalAllocated += weight;
+                    }
+                    case "jdk.JavaMonitorEnter" -> lock(locks, event, "monitorClass");
+                    case "jdk.ThreadPark" -> lock(locks, event, "parkedClass");
+                    default -> {
+                    }
+                }
+            }
+        }
+        long sampleCount = totalSamples;
+        long allocatedBytes = totalAllocated;
+        return new JfrSummary(
+                totalSamples,
+                top(samples, topN).stream()
+                        .map(entry -> new MethodSamples(entry.getKey(), entry.getValue(), share(entry.getValue(), sampleCount)))
+                        .toList(),
+                totalAllocated,
+                top(allocations, topN).stream()
+                        .map(entry -> new AllocationSite(entry.getKey(), entry.getValue(), share(entry.getValue(), allocatedBytes)))
+                        .toList(),
+                locks.entrySet().stream()
+                        .sorted(Comparator.comparingLong((Map.Entry<LockKey, long[]> entry) -> entry.getValue()[1]).reversed())
+                        .limit(topN)
+                        .map(entry -> new LockContention(entry.getKey().lock(), entry.getKey().site(), entry.getValue()[0],
+                                entry.getValue()[1] / 1_000_000))
+                        .toList());
+    }
+
+    private static void lock(Map<LockKey, long[]> locks, RecordedEvent event, String classField) {
+        RecordedClass lockClass = event.getClass(classField);
+        long[] totals = locks.computeIfAbsent(
+                new LockKey(lockClass != null ? lockClass.getName() : "unknown", frame(event.getStackTrace(), true)),
+                key -> new long[2]);
+        totals[0]++;
+        totals[1] += event.getDuration().toNanos();
+    }
+
+    /**
+     * The top frame, or with skipJdk the first frame outside the JDK if there is one.
+     */
+    private static String frame(RecordedStackTrace stackTrace, boolean skipJdk) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        if (skipJdk) {
+            for (RecordedFrame frame : frames) {
+                if (frame.isJavaFrame() && !isJdk(frame.getMethod())) {
+                    return name(frame.getMethod());
+                }
+            }
+        }
+        return name(frames.get(0).getMethod());
+    }
+
+    private static boolean isJdk(RecordedMethod method) {
+        String type = method.getType().getName();
+        for (String jdkPackage : JDK_PACKAGES) {
+            if (type.startsWith(jdkPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String name(RecordedMethod method) {
+        return method.getType().getName() + "." + method.getName();
+    }
+
+    private static List<Map.Entry<String, Long>> top(Map<String, Long> totals, int topN) {
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(topN)
+                .toList();
+    }
+
+    private static double share(long value, long total) {
+        return total == 0 ? 0 : (double) value / total;
+    }
+
+    private record LockKey(String lock, String site) {
+    }
+}
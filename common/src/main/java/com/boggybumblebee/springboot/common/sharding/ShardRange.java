@@ -0,0 +1,63 @@
+package com.boggybumblebee.springboot.common.sharding;
+
+/**
+ * A contiguous range [start, end) of the shard hash space, owned by one employee-service shard.
+ * <p>
+ * Shard keys (department ids) are hashed with Fibonacci hashing into {@link #HASH_SPACE} buckets, which spreads
+ * sequential ids evenly; a shard owns every key whose hash falls in its range.
+ *
+ * @param start first hash owned, inclusive
+ * @param end   last hash owned, exclusive
+ */
+public record ShardRange(int start, int end) {
+
+    public static final int HASH_SPACE = 1 << 16;
+
+    /**
+     * The range of an unsharded instance, which owns every key.
+     */
+    public static final ShardRange FULL = new ShardRange(0, HASH_SPACE);
+
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    public ShardRange {
+        if (start < 0 || end > HASH_SPACE || start >= end) {
+            throw new IllegalArgumentException("Invalid shard range " + start + "-" + end);
+        }
+    }
+
+    /**
+     * The range of shard index out of count equal shards.
+     */
+    public static ShardRange of(int index, int count) {
+        if (count <= 0 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        return new ShardRange((int) ((long) index * HASH_SPACE / count), (int) ((long) (index + 1) * HASH_SPACE / count));
+    }
+
+    /**
+     * Parses the {@link #toString()} form, e.g. 0-32768.
+     */
+    public static ShardRange parse(String range) {
+        int dash = range.indexOf('-');
+        if (dash < 0) {
+            throw new IllegalArgumentException("Invalid shard range " + range);
+        }
+        return new ShardRange(Integer.parseInt(range.substring(0, dash).trim()), Integer.parseInt(range.substring(dash + 1).trim()));
+    }
+
+    public static int hash(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> 48);
+    }
+
+    public boolean owns(long key) {
+        int hash = hash(key);
+        return hash >= start && hash < end;
+    }
+
+    @Override
+    public String toString() {
+        return start + "-" + end;
+    }
+}
@@ -0,0 +1,103 @@
+package com.boggybumblebee.springboot.common.sharding;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves which employee-service instances own a shard key, from the range each instance advertises in its
+ * discovery metadata. Instances without the metadata are unsharded and own every key.
+ */
+public final class ShardRouting {
+
+    /**
+     * Discovery metadata entry holding the instance's {@link ShardRange}.
+     */
+    public static final String METADATA_KEY = "shard-range";
+
+    /**
+     * Request header carrying the shard key when it is not part of the path, e.g. for writes.
+     */
+    public static final String KEY_HEADER = "X-Shard-Key";
+
+    /**
+     * Request header addressing one shard by its range, used to scatter a request over all shards.
+     */
+    public static final String RANGE_HEADER = "X-Shard-Range";
+
+    /**
+     * Employee ids of shard n of equal shards are allocated from n * ID_BLOCK, so they stay unique across shards and
+     * name the shard that holds them.
+     */
+    public static final long ID_BLOCK = 1L << 40;
+
+    private static final Pattern DEPARTMENT_PATH = Pattern.compile("/employee/department/(\\d+)/?");
+
+    private ShardRouting() {
+
+    }
+
+    public static ShardRange rangeOf(ServiceInstance instance) {
+        String range = instance.getMetadata() != null ? instance.getMetadata().get(METADATA_KEY) : null;
+        return range == null || range.isBlank() ? ShardRange.FULL : ShardRange.parse(range);
+    }
+
+    public static boolean isSharded(List<ServiceInstance> instances) {
+        return instances.stream().anyMatch(instance -> !ShardRange.FULL.equals(rangeOf(instance)));
+    }
+
+    /**
+     * The shard key in the path of a request, or null if the path does not address a department.
+     */
+    public static Long keyFromPath(String path) {
+        Matcher matcher = DEPARTMENT_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(matcher.group(1));
+        } catch (NumberFormatException e) {
+            // Too large for an id; no shard owns it, any instance may reject it.
+            return null;
+        }
+    }
+
+    /**
+     * The range of the shard that allocated an employee id, or null if the id does not fall in the block of one of
+     * the given ranges, e.g. because the shards are not equal.
+     */
+    public static ShardRange rangeOfId(Collection<ShardRange> ranges, long id) {
+        long index = id / ID_BLOCK;
+        if (id <= 0 || index >= ranges.size()) {
+            return null;
+        }
+        ShardRange range = ShardRange.of((int) index, ranges.size());
+        return ranges.contains(range) ? range : null;
+    }
+
+    public static List<ServiceInstance> owners(List<ServiceInstance> instances, long key) {
+        return instances.stream().filter(instance -> rangeOf(instance).owns(key)).toList();
+    }
+
+    public static List<ServiceInstance> inRange(List<ServiceInstance> instances, ShardRange range) {
+        return instances.stream().filter(instance -> range.equals(rangeOf(instance))).toList();
+    }
+
+    /**
+     * The instances grouped by the range they own, in hash order; replicas of a shard share an entry.
+     */
+    public static Map<ShardRange, List<ServiceInstance>> byRange(List<ServiceInstance> instances) {
+        Map<ShardRange, List<ServiceInstance>> shards = new LinkedHashMap<>();
+        instances.stream()
+                .sorted(Comparator.comparingInt(instance -> rangeOf(instance).start()))
+                .forEach(instance -> shards.computeIfAbsent(rangeOf(instance), range -> new ArrayList<>()).add(instance));
+        return shards;
+    }
+}
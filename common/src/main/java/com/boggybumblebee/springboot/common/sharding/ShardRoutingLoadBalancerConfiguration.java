@@ -0,0 +1,23 @@
+package com.boggybumblebee.springboot.common.sharding;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Load balancer configuration for clients of a sharded service, applied per client with
+ * {@code @LoadBalancerClient(name = "employee-service", configuration = ShardRoutingLoadBalancerConfiguration.class)}.
+ * <p>
+ * Not annotated with {@code @Configuration}, so it is only picked up by the load balancer's child context.
+ */
+public class ShardRoutingLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier shardRoutingServiceInstanceListSupplier(ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withCaching()
+                .with((ctx, delegate) -> new ShardRoutingServiceInstanceListSupplier(delegate))
+                .build(context);
+    }
+}
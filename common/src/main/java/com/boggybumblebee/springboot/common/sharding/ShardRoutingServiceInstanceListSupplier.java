@@ -0,0 +1,72 @@
+package com.boggybumblebee.springboot.common.sharding;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.http.HttpHeaders;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Narrows the instances the load balancer chooses from to the shard that owns the request.
+ * <p>
+ * The shard is taken from the {@link ShardRouting#RANGE_HEADER} or {@link ShardRouting#KEY_HEADER} header, or else
+ * from a /employee/department/{departmentId} path. Requests without a valid shard key may go to any instance.
+ */
+public class ShardRoutingServiceInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    public ShardRoutingServiceInstanceListSupplier(ServiceInstanceListSupplier delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return delegate.get();
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get(Request request) {
+        if (!(request.getContext() instanceof RequestDataContext context) || context.getClientRequest() == null) {
+            return delegate.get(request);
+        }
+        RequestData data = context.getClientRequest();
+        HttpHeaders headers = data.getHeaders();
+        ShardRange shard = parseRange(headers != null ? headers.getFirst(ShardRouting.RANGE_HEADER) : null);
+        if (shard != null) {
+            return delegate.get(request).map(instances -> ShardRouting.inRange(instances, shard));
+        }
+        Long shardKey = parseKey(headers != null ? headers.getFirst(ShardRouting.KEY_HEADER) : null);
+        if (shardKey == null) {
+            shardKey = ShardRouting.keyFromPath(data.getUrl().getPath());
+        }
+        if (shardKey == null) {
+            return delegate.get(request);
+        }
+        long key = shardKey;
+        return delegate.get(request).map(instances -> ShardRouting.owners(instances, key));
+    }
+
+    /**
+     * Invalid header values are ignored, so a malformed header is routed like a request without one instead of
+     * failing inside the load balancer.
+     */
+    private static ShardRange parseRange(String range) {
+        try {
+            return range != null ? ShardRange.parse(range) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Long parseKey(String key) {
+        try {
+            return key != null ? Long.valueOf(key.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
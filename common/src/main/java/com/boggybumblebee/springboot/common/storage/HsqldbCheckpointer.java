@@ -0,0 +1,52 @@
+package com.boggybumblebee.springboot.common.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues HSQLDB CHECKPOINTs at a fixed interval and once more on shutdown.
+ * <p>
+ * A checkpoint on shutdown leaves an empty redo log behind, so the next start opens the data file directly instead of
+ * replaying the log.
+ */
+public class HsqldbCheckpointer implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(HsqldbCheckpointer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ScheduledExecutorService scheduler;
+
+    public HsqldbCheckpointer(JdbcTemplate jdbcTemplate, Duration interval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hsqldb-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::checkpoint, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void checkpoint() {
+        try {
+            long start = System.nanoTime();
+            jdbcTemplate.execute("CHECKPOINT");
+            log.debug("HSQLDB checkpoint took {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (DataAccessException e) {
+            log.warn("HSQLDB checkpoint failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        checkpoint();
+    }
+}
@@ -0,0 +1,23 @@
+package com.boggybumblebee.springboot.common.storage;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@AutoConfiguration(after = JdbcTemplateAutoConfiguration.class)
+@ConditionalOnClass(JdbcTemplate.class)
+@ConditionalOnProperty(prefix = "microservice.storage", name = "persistent", havingValue = "true")
+@EnableConfigurationProperties(StorageProperties.class)
+public class StorageAutoConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnBean(JdbcTemplate.class)
+    public HsqldbCheckpointer hsqldbCheckpointer(JdbcTemplate jdbcTemplate, StorageProperties properties) {
+        return new HsqldbCheckpointer(jdbcTemplate, properties.getCheckpointInterval());
+    }
+}
@@ -0,0 +1,49 @@
+package com.boggybumblebee.springboot.common.storage;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "microservice.storage")
+public class StorageProperties {
+
+    /**
+     * Keeps the data in file-backed HSQLDB CACHED tables that survive restarts, instead of in memory.
+     */
+    private boolean persistent = false;
+
+    /**
+     * Directory holding the database files; referenced by the datasource URL of the persistent profile.
+     */
+    private Path directory = Path.of(System.getProperty("user.home"), ".springboot-microservice", "data");
+
+    /**
+     * Interval between CHECKPOINTs, which write the cached rows to the data file and truncate the redo log.
+     */
+    private Duration checkpointInterval = Duration.ofMinutes(5);
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public void setPersistent(boolean persistent) {
+        this.persistent = persistent;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public Duration getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(Duration checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+}
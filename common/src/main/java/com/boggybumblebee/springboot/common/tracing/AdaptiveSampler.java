@@ -0,0 +1,74 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import brave.sampler.RateLimitingSampler;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+
+/**
+ * Head sampler that keeps each request path within its budget of new traces per second.
+ * <p>
+ * It is only consulted for new (root) traces; downstream services inherit the decision through the propagated
+ * sampled flag, so a trace is either sampled in every service or in none.
+ */
+public class AdaptiveSampler extends Sampler {
+
+    private static final String DEFAULT_RULE = "default";
+
+    private final List<Budget> budgets;
+    private final Budget fallback;
+
+    public AdaptiveSampler(TracingSamplingProperties properties, MeterRegistry registry) {
+        this.budgets = properties.getRules().stream()
+                .map(rule -> new Budget(rule.getPath(), rule.getTracesPerSecond(), registry))
+                .toList();
+        this.fallback = new Budget(DEFAULT_RULE, properties.getTracesPerSecond(), registry);
+    }
+
+    @Override
+    public boolean isSampled(long traceId) {
+        return budget(SamplingContext.consumePath()).isSampled(traceId);
+    }
+
+    private Budget budget(String path) {
+        if (path != null) {
+            for (Budget budget : budgets) {
+                if (path.startsWith(budget.path)) {
+                    return budget;
+                }
+            }
+        }
+        return fallback;
+    }
+
+    private static final class Budget {
+
+        private final String path;
+        private final Sampler sampler;
+        private final Counter sampled;
+        private final Counter notSampled;
+
+        Budget(String path, int tracesPerSecond, MeterRegistry registry) {
+            this.path = path;
+            this.sampler = tracesPerSecond > 0 ? RateLimitingSampler.create(tracesPerSecond) : Sampler.NEVER_SAMPLE;
+            this.sampled = decisions(registry, path, "sampled");
+            this.notSampled = decisions(registry, path, "not_sampled");
+        }
+
+        boolean isSampled(long traceId) {
+            boolean decision = sampler.isSampled(traceId);
+            (decision ? sampled : notSampled).increment();
+            return decision;
+        }
+
+        private static Counter decisions(MeterRegistry registry, String rule, String decision) {
+            return Counter.builder("tracing.sampling.decisions")
+                    .description("Head sampling decisions for new traces")
+                    .tag("rule", rule)
+                    .tag("decision", decision)
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+/**
+ * Hands the path of the incoming request to the sampler, which Brave only gives the trace id.
+ * <p>
+ * The path is set by a web filter on the request thread right before the server observation starts the root span,
+ * and consumed by the sampler so it cannot leak into spans created later on the same thread.
+ */
+public final class SamplingContext {
+
+    private static final ThreadLocal<String> PATH = new ThreadLocal<>();
+
+    private SamplingContext() {
+
+    }
+
+    public static void setPath(String path) {
+        PATH.set(path);
+    }
+
+    public static String consumePath() {
+        String path = PATH.get();
+        PATH.remove();
+        return path;
+    }
+
+    public static void clear() {
+        PATH.remove();
+    }
+}
@@ -0,0 +1,26 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Publishes the request path to the sampler; registered ahead of the server observation filter.
+ */
+public class SamplingContextFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SamplingContext.setPath(request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SamplingContext.clear();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.HttpHandlerDecoratorFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes the request path to the sampler in reactive applications.
+ * <p>
+ * The decorator wraps the whole web handler, so it runs on the server thread before the server observation starts
+ * the root span; the sampler consumes the path when it makes its decision. Requests that arrive with a sampling
+ * decision never reach the sampler, so the path is also cleared once the request completes, rather than being left
+ * on the event loop thread for spans created outside any request.
+ */
+public class SamplingContextHttpHandlerDecorator implements HttpHandlerDecoratorFactory {
+
+    @Override
+    public HttpHandler apply(HttpHandler delegate) {
+        return (request, response) -> Mono.defer(() -> {
+            SamplingContext.setPath(request.getPath().value());
+            return delegate.handle(request, response);
+        }).doFinally(signal -> SamplingContext.clear());
+    }
+}
@@ -0,0 +1,50 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import com.boggybumblebee.springboot.common.concurrent.BoundedQueue;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.autoconfigure.tracing.zipkin.ZipkinAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import zipkin2.reporter.Sender;
+
+import java.io.IOException;
+
+@AutoConfiguration(after = ZipkinAutoConfiguration.class)
+@ConditionalOnClass(Sender.class)
+@ConditionalOnBean(Sender.class)
+@ConditionalOnProperty(prefix = "microservice.tracing.export", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(SpanExportProperties.class)
+public class SpanExportAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(SpanExportAutoConfiguration.class);
+
+    /**
+     * Primary, so it is used instead of the AsyncReporter Spring Boot creates for the Zipkin sender, which is left
+     * idle.
+     */
+    @Bean(destroyMethod = "close")
+    @Primary
+    public SpanExportPipeline spanExportPipeline(Sender sender, SpanExportProperties properties,
+                                                 MeterRegistry registry, Environment environment) {
+        SpanExportProperties.Spill spill = properties.getSpill();
+        SpanSpillFile spillFile = null;
+        if (spill.isEnabled()) {
+            String application = environment.getProperty("spring.application.name", "application");
+            try {
+                spillFile = SpanSpillFile.claim(spill.getDirectory(), application, spill.getMaxSize().toBytes());
+            } catch (IOException e) {
+                log.warn("Span spilling disabled, unable to claim a spill file: {}", e.toString());
+            }
+        }
+        return new SpanExportPipeline(sender, new BoundedQueue<>(properties.getQueueCapacity()), spillFile,
+                properties.getBatchSize(), properties.getFlushInterval(), spill.getReplayInterval(), registry);
+    }
+}
@@ -0,0 +1,226 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import com.boggybumblebee.springboot.common.concurrent.BoundedQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import zipkin2.Span;
+import zipkin2.codec.BytesEncoder;
+import zipkin2.codec.SpanBytesEncoder;
+import zipkin2.reporter.Reporter;
+import zipkin2.reporter.Sender;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Span reporter that decouples request threads from the tracing backend.
+ * <p>
+ * {@link #report(Span)} only offers the span to a bounded lock-free queue and never blocks; when the queue is full
+ * the span is dropped and counted. A single export thread encodes and sends batches when either the batch size or
+ * the flush interval is reached. Batches the collector does not accept are spilled to a size-capped local file and
+ * replayed after the next successful send and every replay interval, so they are not stranded when traffic stops.
+ */
+public class SpanExportPipeline implements Reporter<Span>, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(SpanExportPipeline.class);
+
+    /**
+     * Upper bound of the list framing any of the encodings adds to a message.
+     */
+    private static final int MESSAGE_OVERHEAD_BYTES = 5;
+
+    private final Sender sender;
+    private final BytesEncoder<Span> encoder;
+    private final BoundedQueue<Span> queue;
+    private final SpanSpillFile spillFile;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long replayIntervalNanos;
+    private final Thread exportThread;
+    private volatile boolean running = true;
+
+    private final Counter sent;
+    private final Counter droppedQueueFull;
+    private final Counter droppedSpillFull;
+    private final Counter spilled;
+    private final Counter replayed;
+
+    /**
+     * @param sender         the transport to the collector
+     * @param queue          the bounded queue spans are offered to
+     * @param spillFile      where unsent batches go, or null to drop them
+     * @param batchSize      spans per batch
+     * @param flushInterval  longest time a span waits before it is flushed
+     * @param replayInterval how often spilled spans are retried besides after each successful send
+     * @param registry       the meter registry
+     */
+    public SpanExportPipeline(Sender sender, BoundedQueue<Span> queue, SpanSpillFile spillFile, int batchSize,
+                              Duration flushInterval, Duration replayInterval, MeterRegistry registry) {
+        this.sender = sender;
+        this.encoder = encoder(sender);
+        this.queue = queue;
+        this.spillFile = spillFile;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.replayIntervalNanos = replayInterval.toNanos();
+
+        this.sent = spans(registry, "sent");
+        this.droppedQueueFull = spans(registry, "dropped_queue_full");
+        this.droppedSpillFull = spans(registry, "dropped_spill_full");
+        this.spilled = spans(registry, "spilled");
+        this.replayed = spans(registry, "replayed");
+        Gauge.builder("tracing.export.queue.size", queue, BoundedQueue::size)
+                .description("Spans waiting to be exported")
+                .register(registry);
+        if (spillFile != null) {
+            Gauge.builder("tracing.export.spill.size", spillFile, SpanSpillFile::size)
+                    .description("Bytes of spans waiting in the spill file")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+
+        this.exportThread = new Thread(this::exportLoop, "span-export");
+        this.exportThread.setDaemon(true);
+        this.exportThread.start();
+    }
+
+    @Override
+    public void report(Span span) {
+        if (!running || !queue.offer(span)) {
+            droppedQueueFull.increment();
+            return;
+        }
+        if (queue.size() >= batchSize) {
+            LockSupport.unpark(exportThread);
+        }
+    }
+
+    /**
+     * Stops the export thread after a final flush; spans the collector refuses at this point are spilled, and the
+     * spill file is released for the next instance.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(exportThread);
+        try {
+            exportThread.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) * 2 + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (spillFile != null && !exportThread.isAlive()) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                log.warn("Unable to release the span spill file: {}", e.toString());
+            }
+        }
+    }
+
+    private void exportLoop() {
+        List<Span> spans = new ArrayList<>(batchSize);
+        long nextReplay = System.nanoTime() + replayIntervalNanos;
+        while (running) {
+            if (queue.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            flush(spans);
+            if (System.nanoTime() - nextReplay >= 0) {
+                // Without this, spans spilled just before traffic stops would wait for the next successful send.
+                replay();
+                nextReplay = System.nanoTime() + replayIntervalNanos;
+            }
+        }
+        flush(spans);
+    }
+
+    /**
+     * Sends everything currently queued, batch by batch.
+     */
+    private void flush(List<Span> spans) {
+        while (queue.drainTo(spans, batchSize) > 0) {
+            List<byte[]> batch = new ArrayList<>(spans.size());
+            long bytes = MESSAGE_OVERHEAD_BYTES;
+            for (Span span : spans) {
+                byte[] encoded = encoder.encode(span);
+                if (!batch.isEmpty() && bytes + encoded.length + 1 > sender.messageMaxBytes()) {
+                    export(batch);
+                    batch = new ArrayList<>(spans.size());
+                    bytes = MESSAGE_OVERHEAD_BYTES;
+                }
+                batch.add(encoded);
+                bytes += encoded.length + 1;
+            }
+            spans.clear();
+            export(batch);
+        }
+    }
+
+    private void export(List<byte[]> batch) {
+        if (send(batch)) {
+            sent.increment(batch.size());
+            replay();
+        } else {
+            spill(batch);
+        }
+    }
+
+    private boolean send(List<byte[]> batch) {
+        try {
+            sender.sendSpans(batch).execute();
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Span collector unavailable: {}", e.toString());
+            return false;
+        }
+    }
+
+    private void spill(List<byte[]> batch) {
+        if (spillFile == null) {
+            droppedSpillFull.increment(batch.size());
+            return;
+        }
+        try {
+            int written = spillFile.append(batch);
+            spilled.increment(written);
+            droppedSpillFull.increment(batch.size() - written);
+        } catch (IOException e) {
+            log.warn("Unable to spill spans: {}", e.toString());
+            droppedSpillFull.increment(batch.size());
+        }
+    }
+
+    private void replay() {
+        if (spillFile == null || spillFile.size() == 0) {
+            return;
+        }
+        try {
+            replayed.increment(spillFile.replay(batchSize, this::send));
+        } catch (IOException e) {
+            log.warn("Unable to replay spilled spans: {}", e.toString());
+        }
+    }
+
+    private static BytesEncoder<Span> encoder(Sender sender) {
+        return switch (sender.encoding()) {
+            case PROTO3 -> SpanBytesEncoder.PROTO3;
+            case THRIFT -> SpanBytesEncoder.THRIFT;
+            default -> SpanBytesEncoder.JSON_V2;
+        };
+    }
+
+    private static Counter spans(MeterRegistry registry, String result) {
+        return Counter.builder("tracing.export.spans")
+                .description("Spans handled by the export pipeline")
+                .tag("result", result)
+                .register(registry);
+    }
+}
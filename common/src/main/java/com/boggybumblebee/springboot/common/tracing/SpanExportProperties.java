@@ -0,0 +1,122 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "microservice.tracing.export")
+public class SpanExportProperties {
+
+    /**
+     * Replaces the Zipkin AsyncReporter with the bounded export pipeline.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Spans queued for export; spans reported while the queue is full are dropped.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Spans sent per request to the collector; reaching it triggers an early flush.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time a span waits in the queue before it is flushed.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    private Spill spill = new Spill();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Spill getSpill() {
+        return spill;
+    }
+
+    public void setSpill(Spill spill) {
+        this.spill = spill;
+    }
+
+    /**
+     * Local file that holds batches the collector could not accept, replayed once it is reachable again.
+     */
+    public static class Spill {
+
+        private boolean enabled = true;
+
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "springboot-microservice", "spans");
+
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * How often spilled spans are retried, besides after each successful send.
+         */
+        private Duration replayInterval = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(Path directory) {
+            this.directory = directory;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getReplayInterval() {
+            return replayInterval;
+        }
+
+        public void setReplayInterval(Duration replayInterval) {
+            this.replayInterval = replayInterval;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Size-capped file of encoded spans, stored as length-prefixed records.
+ * <p>
+ * Only the export thread of the pipeline owning the file touches it, so it is not synchronised. Files obtained through
+ * {@link #claim} are owned exclusively, by a file lock across processes and a registry within this one, so instances
+ * sharing a directory each get their own file.
+ */
+public class SpanSpillFile implements Closeable {
+
+    private static final int MAX_SLOTS = 64;
+    private static final Set<Path> CLAIMED = ConcurrentHashMap.newKeySet();
+
+    private final Path file;
+    private final long maxBytes;
+    private final Path lockFile;
+    private final FileLock lock;
+
+    public SpanSpillFile(Path file, long maxBytes) {
+        this(file, maxBytes, null, null);
+    }
+
+    private SpanSpillFile(Path file, long maxBytes, Path lockFile, FileLock lock) {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.lockFile = lockFile;
+        this.lock = lock;
+    }
+
+    /**
+     * Claims the first spill file named after the application that no other pipeline holds. The first one is used
+     * whenever it is free, so a restarted instance picks up the spans its predecessor left behind.
+     *
+     * @param directory the spill directory
+     * @param name      the base name of the file, e.g. the application name
+     * @param maxBytes  the size cap of the file
+     * @return the claimed file, to be {@link #close closed} when the pipeline stops
+     * @throws IOException when no file could be claimed
+     */
+    public static SpanSpillFile claim(Path directory, String name, long maxBytes) throws IOException {
+        Files.createDirectories(directory);
+        for (int slot = 0; slot < MAX_SLOTS; slot++) {
+            String base = slot == 0 ? name : name + "-" + slot;
+            Path lockFile = directory.resolve(base + ".lock").toAbsolutePath();
+            // Checked first because closing a channel may release every lock this process holds on the file.
+            if (!CLAIMED.add(lockFile)) {
+                continue;
+            }
+            FileChannel channel = null;
+            try {
+                channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock lock = channel.tryLock();
+                if (lock != null) {
+                    return new SpanSpillFile(directory.resolve(base + ".spans"), maxBytes, lockFile, lock);
+                }
+                channel.close();
+            } catch (IOException | RuntimeException e) {
+                if (channel != null) {
+                    channel.close();
+                }
+                CLAIMED.remove(lockFile);
+                throw e;
+            }
+            CLAIMED.remove(lockFile);
+        }
+        throw new IOException("No free spill file for " + name + " in " + directory);
+    }
+
+    /**
+     * Appends as many of the spans as fit under the size cap.
+     *
+     * @param spans the encoded spans
+     * @return the number of spans written
+     * @throws IOException when the file cannot be written
+     */
+    public int append(List<byte[]> spans) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        long size = size();
+        int written = 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)))) {
+            for (byte[] span : spans) {
+                if (size + Integer.BYTES + span.length > maxBytes) {
+                    break;
+                }
+                out.writeInt(span.length);
+                out.write(span);
+                size += Integer.BYTES + span.length;
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Hands the spilled spans to the sender batch by batch, keeping whatever it could not accept.
+     *
+     * @param batchSize spans per batch
+     * @param sender    returns false when a batch could not be sent
+     * @return the number of spans replayed
+     * @throws IOException when the file cannot be read or rewritten
+     */
+    public int replay(int batchSize, Predicate<List<byte[]>> sender) throws IOException {
+        if (size() == 0) {
+            return 0;
+        }
+        int replayed = 0;
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            List<byte[]> batch = new ArrayList<>(batchSize);
+            long batchBytes = 0;
+            while (true) {
+                byte[] span = read(in);
+                if (span != null) {
+                    batch.add(span);
+                    batchBytes += Integer.BYTES + span.length;
+                }
+                if (!batch.isEmpty() && (span == null || batch.size() == batchSize)) {
+                    if (!sender.test(batch)) {
+                        break;
+                    }
+                    replayed += batch.size();
+                    offset += batchBytes;
+                    batch = new ArrayList<>(batchSize);
+                    batchBytes = 0;
+                }
+                if (span == null) {
+                    break;
+                }
+            }
+        }
+        truncateHead(offset);
+        return replayed;
+    }
+
+    public long size() {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static byte[] read(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            byte[] span = new byte[length];
+            in.readFully(span);
+            return span;
+        } catch (EOFException e) {
+            // A partially written trailing record is discarded.
+            return null;
+        }
+    }
+
+    private void truncateHead(long offset) throws IOException {
+        if (offset == 0) {
+            return;
+        }
+        if (offset >= size()) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        Path remainder = file.resolveSibling(file.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream out = Files.newOutputStream(remainder)) {
+            in.skipNBytes(offset);
+            in.transferTo(out);
+        }
+        Files.move(remainder, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Releases the claim on the file; the spans in it are kept for the next owner.
+     */
+    @Override
+    public void close() throws IOException {
+        if (lock != null) {
+            try {
+                lock.channel().close();
+            } finally {
+                CLAIMED.remove(lockFile);
+            }
+        }
+    }
+}
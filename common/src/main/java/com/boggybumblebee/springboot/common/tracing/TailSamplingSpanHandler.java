@@ -0,0 +1,209 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import zipkin2.Span;
+import zipkin2.reporter.Reporter;
+import zipkin2.reporter.brave.ZipkinSpanHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tail-based retention: holds the spans the head sampler dropped until their local root span ends, then reports all
+ * of them if any ended in an error or exceeded the latency threshold, and drops them otherwise.
+ * <p>
+ * What is retained is this instance's part of a trace: each service decides on its own spans, so a retained trace may
+ * miss the spans of upstream or downstream services that saw nothing wrong. Spans that end after their local root, or
+ * that find the buffer full, are dropped.
+ * <p>
+ * Requires spans of unsampled traces to be recorded locally (Tracing.Builder#alwaysSampleLocal). Sampled spans are
+ * passed on untouched to the regular Zipkin handler.
+ */
+public class TailSamplingSpanHandler extends SpanHandler {
+
+    /**
+     * Local traces whose root has not ended within this time are assumed abandoned and evicted when the buffer is full.
+     */
+    private static final long STALE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final long latencyThresholdMicros;
+    private final int maxBufferedSpans;
+    private final ObjectProvider<Reporter<Span>> reporter;
+    private volatile SpanHandler retainedSpanHandler;
+
+    private final Map<LocalTrace, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger bufferedSpans = new AtomicInteger();
+
+    private final Counter sampled;
+    private final Counter retainedError;
+    private final Counter retainedSlow;
+    private final Counter dropped;
+
+    public TailSamplingSpanHandler(TracingSamplingProperties properties, ObjectProvider<Reporter<Span>> reporter,
+                                   MeterRegistry registry) {
+        this.latencyThresholdMicros = TimeUnit.NANOSECONDS.toMicros(properties.getTail().getLatencyThreshold().toNanos());
+        this.maxBufferedSpans = properties.getTail().getMaxBufferedSpans();
+        this.reporter = reporter;
+        this.sampled = spans(registry, "sampled");
+        this.retainedError = spans(registry, "retained_error");
+        this.retainedSlow = spans(registry, "retained_slow");
+        this.dropped = spans(registry, "dropped");
+        Gauge.builder("tracing.sampling.buffered.spans", bufferedSpans, AtomicInteger::get)
+                .description("Unsampled spans held until their local root span ends")
+                .register(registry);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (Boolean.TRUE.equals(context.sampled())) {
+            sampled.increment();
+            return true;
+        }
+        LocalTrace key = new LocalTrace(context.traceIdHigh(), context.traceId(), context.localRootId());
+        if (context.isLocalRoot()) {
+            PendingTrace trace = pending.remove(key);
+            List<Finished> spans = trace != null ? trace.drain() : new ArrayList<>(1);
+            bufferedSpans.addAndGet(-spans.size());
+            if (cause == Cause.FINISHED) {
+                spans.add(new Finished(context, span));
+            } else {
+                dropped.increment();
+            }
+            decide(spans);
+        } else if (cause != Cause.FINISHED || !buffer(key, context, span)) {
+            dropped.increment();
+        }
+        return false;
+    }
+
+    private boolean buffer(LocalTrace key, TraceContext context, MutableSpan span) {
+        if (bufferedSpans.incrementAndGet() > maxBufferedSpans && !evictStale()) {
+            bufferedSpans.decrementAndGet();
+            return false;
+        }
+        if (!pending.computeIfAbsent(key, ignored -> new PendingTrace(System.nanoTime()))
+                .add(new Finished(context, span))) {
+            // The local root ended in the meantime.
+            bufferedSpans.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private boolean evictStale() {
+        long now = System.nanoTime();
+        boolean evicted = false;
+        for (Map.Entry<LocalTrace, PendingTrace> entry : pending.entrySet()) {
+            if (now - entry.getValue().startedAt >= STALE_NANOS && pending.remove(entry.getKey(), entry.getValue())) {
+                int spans = entry.getValue().drain().size();
+                bufferedSpans.addAndGet(-spans);
+                dropped.increment(spans);
+                evicted = true;
+            }
+        }
+        return evicted && bufferedSpans.get() <= maxBufferedSpans;
+    }
+
+    /**
+     * Reports all spans of a local trace if one of them failed or was slow.
+     */
+    private void decide(List<Finished> spans) {
+        Counter retained = null;
+        for (Finished finished : spans) {
+            if (isError(finished.span)) {
+                retained = retainedError;
+                break;
+            }
+            if (retained == null && isSlow(finished.span)) {
+                retained = retainedSlow;
+            }
+        }
+        if (retained == null) {
+            dropped.increment(spans.size());
+            return;
+        }
+        retained.increment(spans.size());
+        SpanHandler handler = retainedSpanHandler();
+        if (handler != null) {
+            spans.forEach(finished -> handler.end(finished.context, finished.span, Cause.FINISHED));
+        }
+    }
+
+    private SpanHandler retainedSpanHandler() {
+        if (retainedSpanHandler == null) {
+            Reporter<Span> spanReporter = reporter.getIfAvailable();
+            if (spanReporter != null) {
+                retainedSpanHandler = ZipkinSpanHandler.newBuilder(spanReporter).alwaysReportSpans(true).build();
+            }
+        }
+        return retainedSpanHandler;
+    }
+
+    private boolean isSlow(MutableSpan span) {
+        return span.finishTimestamp() - span.startTimestamp() >= latencyThresholdMicros;
+    }
+
+    private static boolean isError(MutableSpan span) {
+        if (span.error() != null) {
+            return true;
+        }
+        String outcome = span.tag("outcome");
+        String status = span.tag("status");
+        return "SERVER_ERROR".equals(outcome) || (status != null && status.startsWith("5"));
+    }
+
+    private static Counter spans(MeterRegistry registry, String decision) {
+        return Counter.builder("tracing.sampling.spans")
+                .description("Finished spans by retention decision")
+                .tag("decision", decision)
+                .register(registry);
+    }
+
+    private record LocalTrace(long traceIdHigh, long traceId, long localRootId) {
+
+    }
+
+    private record Finished(TraceContext context, MutableSpan span) {
+
+    }
+
+    private static final class PendingTrace {
+
+        private final long startedAt;
+        private final List<Finished> spans = new ArrayList<>(4);
+        private boolean drained;
+
+        PendingTrace(long startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        /**
+         * False once the trace has been drained, so that a span ending concurrently with its root is not lost.
+         */
+        synchronized boolean add(Finished finished) {
+            if (drained) {
+                return false;
+            }
+            spans.add(finished);
+            return true;
+        }
+
+        synchronized List<Finished> drain() {
+            drained = true;
+            List<Finished> all = new ArrayList<>(spans.size() + 1);
+            all.addAll(spans);
+            spans.clear();
+            return all;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import brave.Tracing;
+import brave.TracingCustomizer;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.tracing.BraveAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import zipkin2.Span;
+import zipkin2.reporter.Reporter;
+import zipkin2.reporter.brave.ZipkinSpanHandler;
+
+@AutoConfiguration(before = BraveAutoConfiguration.class)
+@ConditionalOnClass({Tracing.class, ZipkinSpanHandler.class})
+@ConditionalOnProperty(prefix = "microservice.tracing.sampling", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(TracingSamplingProperties.class)
+public class TracingSamplingAutoConfiguration {
+
+    /**
+     * Takes precedence over the probability sampler Spring Boot creates from management.tracing.sampling.
+     */
+    @Bean
+    public Sampler adaptiveSampler(TracingSamplingProperties properties, MeterRegistry registry) {
+        return new AdaptiveSampler(properties, registry);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(prefix = "microservice.tracing.sampling.tail", name = "enabled", matchIfMissing = true)
+    static class TailSamplingConfiguration {
+
+        @Bean
+        public TracingCustomizer alwaysSampleLocalTracingCustomizer() {
+            return Tracing.Builder::alwaysSampleLocal;
+        }
+
+        @Bean
+        @Order(Ordered.HIGHEST_PRECEDENCE)
+        public TailSamplingSpanHandler tailSamplingSpanHandler(TracingSamplingProperties properties,
+                                                               ObjectProvider<Reporter<Span>> reporter,
+                                                               MeterRegistry registry) {
+            return new TailSamplingSpanHandler(properties, reporter, registry);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class ServletSamplingContextConfiguration {
+
+        @Bean
+        public FilterRegistrationBean<SamplingContextFilter> samplingContextFilter() {
+            FilterRegistrationBean<SamplingContextFilter> registration =
+                    new FilterRegistrationBean<>(new SamplingContextFilter());
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static class ReactiveSamplingContextConfiguration {
+
+        @Bean
+        public SamplingContextHttpHandlerDecorator samplingContextHttpHandlerDecorator() {
+            return new SamplingContextHttpHandlerDecorator();
+        }
+    }
+}
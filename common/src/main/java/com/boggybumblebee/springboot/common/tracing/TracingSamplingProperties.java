@@ -0,0 +1,126 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "microservice.tracing.sampling")
+public class TracingSamplingProperties {
+
+    /**
+     * Replaces the fixed management.tracing.sampling.probability with the adaptive sampler.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Budget of new traces per second for requests that match no rule.
+     */
+    private int tracesPerSecond = 10;
+
+    /**
+     * Budgets per request path prefix; the first matching rule wins.
+     */
+    private List<Rule> rules = new ArrayList<>();
+
+    private Tail tail = new Tail();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getTracesPerSecond() {
+        return tracesPerSecond;
+    }
+
+    public void setTracesPerSecond(int tracesPerSecond) {
+        this.tracesPerSecond = tracesPerSecond;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public Tail getTail() {
+        return tail;
+    }
+
+    public void setTail(Tail tail) {
+        this.tail = tail;
+    }
+
+    public static class Rule {
+
+        private String path;
+        private int tracesPerSecond;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getTracesPerSecond() {
+            return tracesPerSecond;
+        }
+
+        public void setTracesPerSecond(int tracesPerSecond) {
+            this.tracesPerSecond = tracesPerSecond;
+        }
+    }
+
+    /**
+     * Tail-based retention keeps this instance's part of the traces that the head sampler dropped when any of its
+     * spans failed or was slow.
+     * <p>
+     * Spans of unsampled traces are then recorded locally and held until their local root ends (but not reported
+     * unless retained), which costs some of the savings of head sampling; disable it where span creation itself is too
+     * expensive.
+     */
+    public static class Tail {
+
+        private boolean enabled = true;
+
+        private Duration latencyThreshold = Duration.ofMillis(500);
+
+        /**
+         * Spans held while their local root is still running; once full, further spans are dropped.
+         */
+        private int maxBufferedSpans = 10000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getLatencyThreshold() {
+            return latencyThreshold;
+        }
+
+        public void setLatencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        public int getMaxBufferedSpans() {
+            return maxBufferedSpans;
+        }
+
+        public void setMaxBufferedSpans(int maxBufferedSpans) {
+            this.maxBufferedSpans = maxBufferedSpans;
+        }
+    }
+}
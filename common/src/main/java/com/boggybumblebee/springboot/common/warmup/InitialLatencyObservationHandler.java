@@ -0,0 +1,97 @@
+package com.boggybumblebee.springboot.common.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.transport.RequestReplyReceiverContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records the latency of the server requests handled within the report window after the instance first became ready
+ * as warmup.initial.requests, and logs their percentiles once the window has passed.
+ * <p>
+ * Works on the server request observations, so it covers servlet and reactive applications alike.
+ */
+public class InitialLatencyObservationHandler implements ObservationHandler<Observation.Context>,
+        ApplicationListener<AvailabilityChangeEvent<ReadinessState>> {
+
+    private static final Logger log = LoggerFactory.getLogger(InitialLatencyObservationHandler.class);
+
+    private static final String SERVER_REQUESTS = "http.server.requests";
+
+    private final Timer timer;
+    private final long windowNanos;
+    private volatile long readyAt;
+
+    public InitialLatencyObservationHandler(Duration window, MeterRegistry registry) {
+        this.windowNanos = window.toNanos();
+        this.timer = Timer.builder("warmup.initial.requests")
+                .description("Latency of the server requests handled within the report window after becoming ready")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                // Long enough for the snapshot taken at the end of the window to still cover all of it.
+                .distributionStatisticExpiry(window.multipliedBy(2))
+                .register(registry);
+    }
+
+    @Override
+    public void onApplicationEvent(AvailabilityChangeEvent<ReadinessState> event) {
+        if (event.getState() == ReadinessState.ACCEPTING_TRAFFIC && readyAt == 0) {
+            readyAt = System.nanoTime();
+            CompletableFuture.delayedExecutor(windowNanos, TimeUnit.NANOSECONDS).execute(this::report);
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof RequestReplyReceiverContext<?, ?>;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        if (inWindow(System.nanoTime())) {
+            context.put(InitialLatencyObservationHandler.class, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        Long start = context.get(InitialLatencyObservationHandler.class);
+        if (start != null && SERVER_REQUESTS.equals(context.getName())) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean inWindow(long now) {
+        long ready = readyAt;
+        return ready != 0 && now - ready < windowNanos;
+    }
+
+    private static String percentile(ValueAtPercentile value) {
+        return BigDecimal.valueOf(value.percentile() * 100).stripTrailingZeros().toPlainString();
+    }
+
+    private void report() {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        String percentiles = Arrays.stream(snapshot.percentileValues())
+                .map(value -> String.format("p%s %.1f ms", percentile(value), value.value(TimeUnit.MILLISECONDS)))
+                .collect(Collectors.joining(", "));
+        log.info("Requests in the first {} s after becoming ready: {} requests, max {} ms, {}",
+                TimeUnit.NANOSECONDS.toSeconds(windowNanos), snapshot.count(),
+                Math.round(snapshot.max(TimeUnit.MILLISECONDS)), percentiles);
+    }
+}
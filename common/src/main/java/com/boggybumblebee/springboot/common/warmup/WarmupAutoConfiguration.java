@@ -0,0 +1,61 @@
+package com.boggybumblebee.springboot.common.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.cloud.client.serviceregistry.ServiceRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@AutoConfiguration(after = CompositeMeterRegistryAutoConfiguration.class,
+        afterName = "org.springframework.cloud.netflix.eureka.EurekaClientAutoConfiguration")
+@ConditionalOnWebApplication
+@ConditionalOnProperty(prefix = "microservice.warmup", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupAutoConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupAutoConfiguration.class);
+
+    @Bean
+    public WarmupRunner warmupRunner(WarmupProperties properties, Environment environment,
+                                     ApplicationEventPublisher publisher, MeterRegistry registry) {
+        return new WarmupRunner(properties, environment, publisher, registry);
+    }
+
+    @Bean
+    public InitialLatencyObservationHandler initialLatencyObservationHandler(WarmupProperties properties,
+                                                                             MeterRegistry registry) {
+        return new InitialLatencyObservationHandler(properties.getReportWindow(), registry);
+    }
+
+    /**
+     * Sets the instance UP in the service registry once warmed up; until then it stays registered as STARTING, see
+     * {@link WarmupEnvironmentPostProcessor}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ServiceRegistry.class)
+    @ConditionalOnBean({ServiceRegistry.class, Registration.class})
+    static class ServiceRegistryStatusConfiguration {
+
+        @Bean
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        public ApplicationListener<WarmupCompletedEvent> warmupRegistrationStatus(ServiceRegistry serviceRegistry,
+                                                                                   Registration registration) {
+            return event -> {
+                serviceRegistry.setStatus(registration, "UP");
+                log.info("Registered {} as UP", registration.getInstanceId());
+            };
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.boggybumblebee.springboot.common.warmup;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.time.Duration;
+
+/**
+ * Published once the warm-up has finished, successfully or not, just before the application reports ready.
+ */
+public class WarmupCompletedEvent extends ApplicationEvent {
+
+    private final Duration duration;
+    private final long requests;
+    private final long failures;
+
+    public WarmupCompletedEvent(Object source, Duration duration, long requests, long failures) {
+        super(source);
+        this.duration = duration;
+        this.requests = requests;
+        this.failures = failures;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+}
@@ -0,0 +1,26 @@
+package com.boggybumblebee.springboot.common.warmup;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.Map;
+
+/**
+ * With the warm-up enabled, registers the instance with Eureka as STARTING instead of UP; it is set UP by
+ * {@link WarmupAutoConfiguration} once the warm-up has finished.
+ * <p>
+ * Added as the lowest-precedence property source, so an explicitly configured initial status still wins.
+ */
+public class WarmupEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String INITIAL_STATUS = "eureka.instance.initial-status";
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        if (environment.getProperty("microservice.warmup.enabled", Boolean.class, false)) {
+            environment.getPropertySources().addLast(new MapPropertySource("warmup", Map.of(INITIAL_STATUS, "STARTING")));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.boggybumblebee.springboot.common.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "microservice.warmup")
+public class WarmupProperties {
+
+    /**
+     * Sends synthetic requests to the instance itself before it reports ready and registers as UP.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Requests sent per iteration, as "[METHOD ]path"; they must not modify data.
+     */
+    private List<String> requests = new ArrayList<>();
+
+    /**
+     * List request, as "[METHOD ]path", whose first element fills the {field} placeholders of the requests, e.g. {id}
+     * in "GET /employee/{id}", so that they read data this instance holds.
+     */
+    private String seed;
+
+    /**
+     * Passes over the request list; the warm-up ends after these or after the duration, whichever comes first.
+     */
+    private int iterations = 10000;
+
+    /**
+     * Longest time the warm-up may delay readiness.
+     */
+    private Duration duration = Duration.ofSeconds(30);
+
+    /**
+     * Threads sending warm-up requests, so that the compiler threads get to work in parallel.
+     */
+    private int concurrency = 4;
+
+    /**
+     * How long after becoming ready request latency is also recorded as warmup.initial.requests.
+     */
+    private Duration reportWindow = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<String> requests) {
+        this.requests = requests;
+    }
+
+    public String getSeed() {
+        return seed;
+    }
+
+    public void setSeed(String seed) {
+        this.seed = seed;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Duration getReportWindow() {
+        return reportWindow;
+    }
+
+    public void setReportWindow(Duration reportWindow) {
+        this.reportWindow = reportWindow;
+    }
+}
@@ -0,0 +1,260 @@
+package com.boggybumblebee.springboot.common.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends the configured requests to the instance's own HTTP port until the iterations or the time are used up, so that
+ * the controller, repository and serialisation paths are compiled before real traffic arrives.
+ * <p>
+ * Application runners complete before Spring Boot reports the readiness state ACCEPTING_TRAFFIC, so the instance
+ * stays not ready for the whole warm-up. Placeholders in the requests are filled from the seed request's first element,
+ * and every request is sent once before the warm-up proper: those that do not answer 2xx, e.g. because this instance
+ * does not hold the data they read, are dropped with a warning rather than repeated. Responses are read and discarded.
+ */
+public class WarmupRunner implements ApplicationRunner, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([^}/]+)}");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final WarmupProperties properties;
+    private final Environment environment;
+    private final ApplicationEventPublisher publisher;
+    private final AtomicLong durationMillis = new AtomicLong();
+
+    public WarmupRunner(WarmupProperties properties, Environment environment, ApplicationEventPublisher publisher,
+                        MeterRegistry registry) {
+        this.properties = properties;
+        this.environment = environment;
+        this.publisher = publisher;
+        Gauge.builder("warmup.duration", durationMillis, millis -> millis.get() / 1000.0)
+                .description("Time the warm-up delayed readiness")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    /**
+     * Runs after the application's own runners, which may seed the data the requests read.
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        List<WarmupRequest> requests = properties.getRequests().stream().map(WarmupRequest::parse).toList();
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        long start = System.nanoTime();
+        AtomicLong sent = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        if (requests.isEmpty() || port == null) {
+            log.warn("Skipping warm-up: no requests configured or no local server port");
+        } else {
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String baseUrl = "http://localhost:" + port;
+            Function<WarmupRequest, WarmupResponse> exchange = request -> send(client, baseUrl, request);
+            List<WarmupRequest> succeeding = prepare(requests, exchange, sent, failed);
+            if (succeeding.isEmpty()) {
+                log.warn("Skipping warm-up: none of the requests succeeded");
+            } else {
+                warmUp(succeeding, exchange, start + properties.getDuration().toNanos(), sent, failed);
+            }
+        }
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        durationMillis.set(duration.toMillis());
+        log.info("Warm-up finished in {} ms after {} requests ({} failed)", duration.toMillis(), sent.get(), failed.get());
+        publisher.publishEvent(new WarmupCompletedEvent(this, duration, sent.get(), failed.get()));
+    }
+
+    /**
+     * Fills in the placeholders and sends every request once, returning those that answered 2xx.
+     */
+    List<WarmupRequest> prepare(List<WarmupRequest> requests, Function<WarmupRequest, WarmupResponse> exchange,
+                                AtomicLong sent, AtomicLong failed) {
+        Map<String, String> values = requests.stream().anyMatch(WarmupRequest::hasPlaceholders)
+                ? seedValues(exchange)
+                : Map.of();
+        List<WarmupRequest> succeeding = new ArrayList<>(requests.size());
+        for (WarmupRequest template : requests) {
+            WarmupRequest request = template.resolve(values);
+            if (request == null) {
+                log.warn("Dropping warm-up request {}: no seed value for its placeholders", template);
+                continue;
+            }
+            sent.incrementAndGet();
+            WarmupResponse response = exchange.apply(request);
+            if (response.isSuccessful()) {
+                succeeding.add(request);
+            } else {
+                failed.incrementAndGet();
+                log.warn("Dropping warm-up request {}: answered {}", request, response.status());
+            }
+        }
+        return succeeding;
+    }
+
+    void warmUp(List<WarmupRequest> requests, Function<WarmupRequest, WarmupResponse> exchange, long deadline,
+                AtomicLong sent, AtomicLong failed) throws InterruptedException {
+        AtomicInteger iterations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getConcurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int i = 0; i < properties.getConcurrency(); i++) {
+                executor.execute(() -> {
+                    while (iterations.getAndIncrement() < properties.getIterations() && System.nanoTime() < deadline
+                            && !Thread.currentThread().isInterrupted()) {
+                        for (WarmupRequest request : requests) {
+                            sent.incrementAndGet();
+                            if (!exchange.apply(request).isSuccessful()) {
+                                failed.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+            }
+            executor.shutdown();
+            // Requests in flight at the deadline are allowed a moment to finish.
+            executor.awaitTermination(Math.max(0, deadline - System.nanoTime()) + TimeUnit.SECONDS.toNanos(5),
+                    TimeUnit.NANOSECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The fields of the first element the seed request lists, or none if there is no seed or it lists nothing.
+     */
+    private Map<String, String> seedValues(Function<WarmupRequest, WarmupResponse> exchange) {
+        if (properties.getSeed() == null) {
+            return Map.of();
+        }
+        WarmupRequest seed = WarmupRequest.parse(properties.getSeed());
+        WarmupResponse response = exchange.apply(seed.withBody());
+        if (!response.isSuccessful() || response.body() == null) {
+            log.warn("Warm-up seed request {} answered {}", seed, response.status());
+            return Map.of();
+        }
+        try {
+            JsonNode first = MAPPER.readTree(response.body()).path(0);
+            Map<String, String> values = new HashMap<>();
+            first.fields().forEachRemaining(field -> {
+                if (field.getValue().isValueNode() && !field.getValue().isNull()) {
+                    values.put(field.getKey(), field.getValue().asText());
+                }
+            });
+            return values;
+        } catch (IOException e) {
+            log.warn("Warm-up seed request {} did not return a JSON list: {}", seed, e.toString());
+            return Map.of();
+        }
+    }
+
+    private static WarmupResponse send(HttpClient client, String baseUrl, WarmupRequest request) {
+        HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + request.path()))
+                .method(request.method(), HttpRequest.BodyPublishers.noBody())
+                .build();
+        try {
+            if (request.readBody()) {
+                HttpResponse<String> response = client.send(httpRequest, HttpResponse.BodyHandlers.ofString());
+                return new WarmupResponse(response.statusCode(), response.body());
+            }
+            return new WarmupResponse(client.send(httpRequest, HttpResponse.BodyHandlers.discarding()).statusCode(),
+                    null);
+        } catch (IOException e) {
+            log.debug("Warm-up request {} failed: {}", request, e.toString());
+            return WarmupResponse.FAILED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return WarmupResponse.FAILED;
+        }
+    }
+
+    record WarmupRequest(String method, String path, boolean readBody) {
+
+        static WarmupRequest parse(String request) {
+            String trimmed = request.trim();
+            int space = trimmed.indexOf(' ');
+            return space < 0
+                    ? new WarmupRequest("GET", trimmed, false)
+                    : new WarmupRequest(trimmed.substring(0, space), trimmed.substring(space + 1).trim(), false);
+        }
+
+        boolean hasPlaceholders() {
+            return PLACEHOLDER.matcher(path).find();
+        }
+
+        /**
+         * This request with its placeholders replaced, or null if a value is missing.
+         */
+        WarmupRequest resolve(Map<String, String> values) {
+            Matcher matcher = PLACEHOLDER.matcher(path);
+            StringBuilder resolved = new StringBuilder();
+            while (matcher.find()) {
+                String value = values.get(matcher.group(1));
+                if (value == null) {
+                    return null;
+                }
+                matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+            }
+            matcher.appendTail(resolved);
+            return new WarmupRequest(method, resolved.toString(), readBody);
+        }
+
+        WarmupRequest withBody() {
+            return new WarmupRequest(method, path, true);
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path;
+        }
+    }
+
+    /**
+     * @param status the HTTP status, or -1 if the request could not be sent
+     * @param body   the body, if it was read
+     */
+    record WarmupResponse(int status, String body) {
+
+        static final WarmupResponse FAILED = new WarmupResponse(-1, null);
+
+        boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.boggybumblebee.springboot.common.accounting;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class RequestCostFilterUnitTests {
+
+    private static final int ALLOCATION = 1 << 20;
+
+    private final List<Object> retained = new ArrayList<>();
+
+    @Test
+    public void testAllocationIsAttributedToTheHandlerAndItsComponents() throws Exception {
+        assumeTrue(ResourceCounters.isAllocationSupported());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestCostFilter filter = new RequestCostFilter(registry, false);
+        Supplier<byte[]> component = accounted(new Allocator());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/department");
+        request.setAttribute(RequestCostFilter.HANDLER_ATTRIBUTE,
+                new HandlerMethod(new DepartmentController(), DepartmentController.class.getMethod("findAll")));
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            retained.add(new byte[ALLOCATION]);
+            retained.add(component.get());
+            retained.add(component.get());
+        });
+
+        DistributionSummary total = registry.get("request.allocated")
+                .tags("handler", "DepartmentController.findAll", "component", "total").summary();
+        DistributionSummary nested = registry.get("request.allocated")
+                .tags("handler", "DepartmentController.findAll", "component", "Supplier.get").summary();
+        assertThat(total.count()).isEqualTo(1);
+        assertThat(total.totalAmount()).isGreaterThanOrEqualTo(3.0 * ALLOCATION);
+        assertThat(nested.count()).isEqualTo(1);
+        assertThat(nested.totalAmount()).isGreaterThanOrEqualTo(2.0 * ALLOCATION).isLessThan(total.totalAmount());
+    }
+
+    @Test
+    public void testNestedComponentsAreOnlyCountedByTheOutermostCall() throws Exception {
+        assumeTrue(ResourceCounters.isAllocationSupported());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestCostFilter filter = new RequestCostFilter(registry, false);
+        Runnable outer = accounted(new Retainer(accounted(new Allocator()), retained));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(),
+                (req, res) -> outer.run());
+
+        assertThat(registry.get("request.allocated").tags("handler", "unmapped", "component", "Runnable.run")
+                .summary().totalAmount()).isGreaterThanOrEqualTo(ALLOCATION);
+        assertThat(registry.find("request.allocated").tag("component", "Supplier.get").summary()).isNull();
+    }
+
+    @Test
+    public void testWorkDelegatedToAnotherThreadIsAddedToTheRequest() throws Exception {
+        assumeTrue(ResourceCounters.isAllocationSupported());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestCostFilter filter = new RequestCostFilter(registry, false);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            filter.doFilter(new MockHttpServletRequest("GET", "/missing"), new MockHttpServletResponse(),
+                    (req, res) -> {
+                        Future<RequestCost.Measured<byte[]>> task =
+                                executor.submit(RequestCost.measure(new Allocator()::get));
+                        try {
+                            RequestCost.current().addDelegated("Shard.get", task.get());
+                        } catch (InterruptedException | ExecutionException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(registry.get("request.allocated").tags("handler", "unmapped", "component", "Shard.get")
+                .summary().totalAmount()).isGreaterThanOrEqualTo(ALLOCATION);
+        assertThat(registry.get("request.allocated").tags("handler", "unmapped", "component", "total")
+                .summary().totalAmount()).isGreaterThanOrEqualTo(ALLOCATION);
+    }
+
+    @Test
+    public void testWorkRunOnTheRequestThreadIsNotMeasuredTwice() throws Exception {
+        RequestCost cost = new RequestCost();
+        cost.enter();
+        try {
+            RequestCost.Measured<byte[]> task = RequestCost.measure(new Allocator()::get).call();
+
+            assertThat(task.value()).hasSize(ALLOCATION);
+            assertThat(task.allocatedBytes()).isZero();
+            assertThat(task.cpuNanos()).isZero();
+        } finally {
+            cost.exit();
+        }
+    }
+
+    @Test
+    public void testComponentsOutsideRequestsAreNotAccounted() {
+        Supplier<byte[]> component = accounted(new Allocator());
+
+        assertThat(component.get()).hasSize(ALLOCATION);
+        assertThat(RequestCost.current()).isNull();
+    }
+
+    private static Supplier<byte[]> accounted(Supplier<byte[]> target) {
+        return proxy(target);
+    }
+
+    private static Runnable accounted(Runnable target) {
+        return proxy(target);
+    }
+
+    private static <T> T proxy(Object target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new TestAccountant());
+        return factory.getProxy();
+    }
+
+    @Aspect
+    static class TestAccountant implements AspectCostAccountable {
+
+        @Override
+        @Pointcut("this(java.util.function.Supplier) || this(java.lang.Runnable)")
+        public void componentPointcut() {
+            // Method is empty as this is just a Pointcut, the implementations are in the advices.
+        }
+    }
+
+    static class Allocator implements Supplier<byte[]> {
+
+        @Override
+        public byte[] get() {
+            return new byte[ALLOCATION];
+        }
+    }
+
+    record Retainer(Supplier<byte[]> supplier, List<Object> retained) implements Runnable {
+
+        @Override
+        public void run() {
+            retained.add(supplier.get());
+        }
+    }
+
+    static class DepartmentController {
+
+        public List<String> findAll() {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.boggybumblebee.springboot.common.fields;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class FieldSelectionUnitTests {
+
+    @Test
+    public void testMissingParameterSelectsEverything() {
+        assertThat(FieldSelection.parse(null).isAll()).isTrue();
+        assertThat(FieldSelection.parse(" ").includes("name")).isTrue();
+        assertThat(FieldSelection.parse(null).toParameter()).isNull();
+    }
+
+    @Test
+    public void testNestedFieldsSelectTheirParent() {
+        FieldSelection selection = FieldSelection.parse("id, employees.name,employees.id");
+
+        assertThat(selection.names()).containsExactly("id", "employees");
+        assertThat(selection.includes("name")).isFalse();
+        assertThat(selection.nested("employees").names()).containsExactly("name", "id");
+        assertThat(selection.toParameter()).isEqualTo("id,employees.name,employees.id");
+    }
+
+    @Test
+    public void testBareNameSelectsTheWholeObject() {
+        FieldSelection selection = FieldSelection.parse("employees.name,employees");
+
+        assertThat(selection.nested("employees").isAll()).isTrue();
+        assertThat(selection.toParameter()).isEqualTo("employees");
+    }
+
+    @Test
+    public void testRequiredFieldsAreAddedOnlyToNarrowSelections() {
+        assertThat(FieldSelection.parse("name").with("id").toParameter()).isEqualTo("name,id");
+        assertThat(FieldSelection.ALL.with("id").isAll()).isTrue();
+    }
+
+    @Test
+    public void testUnknownFieldsAreRejected() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> FieldSelection.parse("id,salary").validate(Set.of("id", "name")))
+                .withMessageContaining("salary");
+    }
+}
@@ -0,0 +1,84 @@
+package com.boggybumblebee.springboot.common.limit;
+
+import com.boggybumblebee.springboot.common.limit.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterUnitTests {
+
+    @Test
+    public void testBulkRequestsAreShedBeforeInteractiveOnes() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AimdLimit(4, 1, 10, 0.9, Long.MAX_VALUE),
+                0.5, Duration.ofSeconds(1), 10, registry);
+
+        assertThat(limiter.tryAcquire(Priority.BULK)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.BULK)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.BULK)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.INTERACTIVE)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.INTERACTIVE)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.INTERACTIVE)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+
+        assertThat(limiter.getInflight()).isEqualTo(4);
+        assertThat(limiter.getCriticalInflight()).isEqualTo(1);
+        assertThat(registry.get("concurrency.rejected").tag("priority", "bulk").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("concurrency.rejected").tag("priority", "interactive").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("concurrency.limit").gauge().value()).isEqualTo(4.0);
+    }
+
+    @Test
+    public void testCriticalRequestsDoNotUseUpTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(new AimdLimit(2, 1, 10, 0.9, Long.MAX_VALUE),
+                0.5, Duration.ofSeconds(1), 10, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(Priority.CRITICAL)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(Priority.INTERACTIVE)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.INTERACTIVE)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.INTERACTIVE)).isFalse();
+
+        limiter.release(Priority.CRITICAL, System.nanoTime(), false);
+        assertThat(limiter.getCriticalInflight()).isEqualTo(4);
+        assertThat(limiter.getInflight()).isEqualTo(2);
+    }
+
+    @Test
+    public void testAimdBacksOffWhenLatencyExceedsTheThreshold() {
+        AimdLimit limit = new AimdLimit(20, 4, 100, 0.5, TimeUnit.MILLISECONDS.toNanos(100));
+
+        limit.onWindow(TimeUnit.MILLISECONDS.toNanos(10), 20, false);
+        assertThat(limit.getLimit()).isEqualTo(21);
+
+        limit.onWindow(TimeUnit.MILLISECONDS.toNanos(10), 2, false);
+        assertThat(limit.getLimit()).as("unused limit does not grow").isEqualTo(21);
+
+        limit.onWindow(TimeUnit.MILLISECONDS.toNanos(200), 21, false);
+        assertThat(limit.getLimit()).isEqualTo(10);
+
+        limit.onWindow(TimeUnit.MILLISECONDS.toNanos(10), 10, true);
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    public void testGradientGrowsWhileLatencyIsStableAndShrinksWhenItRises() {
+        GradientLimit limit = new GradientLimit(20, 4, 500, 1.5, 0.2, 600);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onWindow(TimeUnit.MILLISECONDS.toNanos(10), limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onWindow(TimeUnit.MILLISECONDS.toNanos(50), limit.getLimit(), false);
+        }
+        assertThat(limit.getLimit()).isLessThan(grown);
+    }
+}
@@ -0,0 +1,53 @@
+package com.boggybumblebee.springboot.common.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrencyLimitFilterUnitTests {
+
+    @Test
+    public void testApplicationErrorsDoNotShrinkTheLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, List.of(), List.of(), Duration.ofSeconds(1));
+
+        for (int i = 0; i < 20; i++) {
+            assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/employee/404"),
+                    new MockHttpServletResponse(), (req, res) -> {
+                        throw new ServletException("No value present");
+                    })).isInstanceOf(ServletException.class);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        assertThat(limiter.getInflight()).isZero();
+    }
+
+    @Test
+    public void testServiceUnavailableResponsesShrinkTheLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter();
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, List.of(), List.of(), Duration.ofSeconds(1));
+
+        for (int i = 0; i < 20; i++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/employee"), new MockHttpServletResponse(),
+                    (req, res) -> ((HttpServletResponse) res).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE));
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(20);
+        assertThat(limiter.getInflight()).isZero();
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter() {
+        // Every sample closes a window, and latency alone never triggers a backoff.
+        return new AdaptiveConcurrencyLimiter(new AimdLimit(20, 4, 100, 0.5, Long.MAX_VALUE), 0.5, Duration.ZERO, 1,
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,62 @@
+package com.boggybumblebee.springboot.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonLogEncoderUnitTests {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final JsonLogEncoder encoder = new JsonLogEncoder();
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testSpecialCharactersAreEscaped() throws Exception {
+        String message = "quote \" backslash \\ newline \n tab \t return \r bell \u0007 unicode é";
+        LoggingEvent event = event(Level.INFO, "{}", message);
+
+        byte[] line = encoder.encode(event);
+
+        assertThat(new String(line, StandardCharsets.UTF_8)).endsWith("}\n").containsOnlyOnce("\n");
+        JsonNode json = mapper.readTree(line);
+        assertThat(json.get("message").asText()).isEqualTo(message);
+        assertThat(json.get("level").asText()).isEqualTo("INFO");
+        assertThat(json.get("logger").asText()).isEqualTo("test");
+        assertThat(json.get("thread").asText()).isEqualTo(Thread.currentThread().getName());
+        assertThat(json.has("mdc")).isFalse();
+    }
+
+    @Test
+    public void testMdcIsWrittenAsAnObject() throws Exception {
+        LoggingEvent event = event(Level.WARN, "slow request");
+        event.setMDCPropertyMap(Map.of("traceId", "6f1c2a", "note", "say \"hi\""));
+
+        JsonNode json = mapper.readTree(encoder.encode(event));
+
+        assertThat(json.get("mdc").get("traceId").asText()).isEqualTo("6f1c2a");
+        assertThat(json.get("mdc").get("note").asText()).isEqualTo("say \"hi\"");
+    }
+
+    @Test
+    public void testExceptionIsWrittenAsItsStackTrace() throws Exception {
+        LoggingEvent event = new LoggingEvent(getClass().getName(), context.getLogger("test"), Level.ERROR, "failed",
+                new IllegalStateException("boom"), null);
+
+        JsonNode json = mapper.readTree(encoder.encode(event));
+
+        assertThat(json.get("exception").asText()).startsWith("java.lang.IllegalStateException: boom");
+    }
+
+    private LoggingEvent event(Level level, String message, Object... arguments) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, message, null, arguments);
+    }
+}
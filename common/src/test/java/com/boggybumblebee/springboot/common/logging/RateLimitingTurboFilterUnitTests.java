@@ -0,0 +1,72 @@
+package com.boggybumblebee.springboot.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitingTurboFilterUnitTests {
+
+    private final LoggerContext context = new LoggerContext();
+    private final RateLimitingTurboFilter filter = new RateLimitingTurboFilter();
+    private Logger first;
+    private Logger second;
+
+    @BeforeEach
+    public void setUp() {
+        filter.setMaxPerInterval(2);
+        filter.setIntervalMillis(60_000);
+        filter.start();
+        first = context.getLogger("rate-limit.first");
+        first.setLevel(Level.INFO);
+        second = context.getLogger("rate-limit.second");
+        second.setLevel(Level.INFO);
+    }
+
+    @Test
+    public void testPatternIsLimitedPerInterval() {
+        assertThat(decide(first, Level.INFO, "request {}")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(first, Level.INFO, "request {}")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(first, Level.INFO, "request {}")).isEqualTo(FilterReply.DENY);
+        assertThat(decide(first, Level.INFO, "other {}")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressed()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLoggersSharingAFormatAreLimitedSeparately() {
+        decide(first, Level.INFO, "{}");
+        decide(first, Level.INFO, "{}");
+
+        assertThat(decide(first, Level.INFO, "{}")).isEqualTo(FilterReply.DENY);
+        assertThat(decide(second, Level.INFO, "{}")).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    public void testWarningsAndDisabledLevelsAreNotCounted() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(decide(first, Level.WARN, "request {}")).isEqualTo(FilterReply.NEUTRAL);
+            assertThat(decide(first, Level.DEBUG, "request {}")).isEqualTo(FilterReply.NEUTRAL);
+        }
+
+        assertThat(decide(first, Level.INFO, "request {}")).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressed()).isZero();
+    }
+
+    @Test
+    public void testPatternsBeyondTheLimitAreNotTracked() {
+        filter.setMaxPatterns(1);
+        decide(first, Level.INFO, "tracked");
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(decide(second, Level.INFO, "untracked")).isEqualTo(FilterReply.NEUTRAL);
+        }
+    }
+
+    private FilterReply decide(Logger logger, Level level, String format) {
+        return filter.decide(null, logger, level, format, null, null);
+    }
+}
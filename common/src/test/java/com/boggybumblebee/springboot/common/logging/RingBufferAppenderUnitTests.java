@@ -0,0 +1,172 @@
+package com.boggybumblebee.springboot.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RingBufferAppenderUnitTests {
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final BlockingAppender target = new BlockingAppender();
+    private final RingBufferAppender appender = new RingBufferAppender();
+
+    @AfterEach
+    public void stop() {
+        target.release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    public void testDropPolicyDropsEventsWhenFull() throws Exception {
+        start(2, RingBufferAppender.OverflowPolicy.DROP);
+        blockWriter();
+
+        append(Level.INFO, "second");
+        append(Level.INFO, "third");
+        append(Level.ERROR, "fourth");
+        target.release.countDown();
+        appender.stop();
+
+        assertThat(target.messages()).containsExactly("first", "second", "third");
+        assertThat(appender.getDropped()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDropBelowWarnKeepsRoomForWarnings() throws Exception {
+        start(5, RingBufferAppender.OverflowPolicy.DROP_BELOW_WARN);
+        blockWriter();
+
+        for (int i = 0; i < 4; i++) {
+            append(Level.INFO, "info-" + i);
+        }
+        append(Level.INFO, "dropped info");
+        append(Level.WARN, "warn");
+        append(Level.WARN, "dropped warn");
+        target.release.countDown();
+        appender.stop();
+
+        assertThat(target.messages()).containsExactly("first", "info-0", "info-1", "info-2", "info-3", "warn");
+        assertThat(appender.getDropped()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCallerRunsPolicyWritesOnTheCallingThreadAfterTheQueuedEvents() throws Exception {
+        start(1, RingBufferAppender.OverflowPolicy.CALLER_RUNS);
+        blockWriter();
+
+        append(Level.INFO, "queued");
+        Thread caller = new Thread(() -> append(Level.INFO, "caller"), "caller");
+        caller.start();
+        caller.join(200);
+
+        // Waits for the writer rather than calling the target concurrently.
+        assertThat(target.messages()).containsExactly("first");
+        target.release.countDown();
+        caller.join(TimeUnit.SECONDS.toMillis(5));
+        assertThat(target.messages()).containsExactly("first", "queued", "caller");
+        assertThat(target.threads.get(2)).isEqualTo("caller");
+        assertThat(appender.getCallerRuns()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStopDrainsTheQueue() {
+        start(8192, RingBufferAppender.OverflowPolicy.DROP);
+        target.release.countDown();
+
+        for (int i = 0; i < 1000; i++) {
+            append(Level.INFO, "event-" + i);
+        }
+        appender.stop();
+
+        assertThat(target.messages()).hasSize(1000).endsWith("event-999");
+        assertThat(target.isStarted()).isFalse();
+    }
+
+    @Test
+    public void testMutableArgumentsAreFormattedOnTheCallingThread() throws Exception {
+        start(16, RingBufferAppender.OverflowPolicy.DROP);
+        blockWriter();
+        StringBuilder mutable = new StringBuilder("before");
+        List<String> lazy = new CopyOnWriteArrayList<>(List.of("before"));
+
+        appender.doAppend(event(Level.INFO, "mutable {}", mutable));
+        appender.doAppend(event(Level.INFO, "lazy {}", new LazyArguments(new Object[]{lazy})));
+        appender.doAppend(event(Level.INFO, "immutable {}", new LazyArguments(new Object[]{"value", 1L, null})));
+        mutable.replace(0, mutable.length(), "after");
+        lazy.set(0, "after");
+        target.release.countDown();
+        appender.stop();
+
+        assertThat(target.messages())
+                .containsExactly("first", "mutable before", "lazy [[before]]", "immutable [value, 1, null]");
+    }
+
+    private void start(int capacity, RingBufferAppender.OverflowPolicy policy) {
+        target.setContext(context);
+        target.start();
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setQueueCapacity(capacity);
+        appender.setOverflowPolicy(policy);
+        appender.addAppender(target);
+        appender.start();
+    }
+
+    /**
+     * Has the writer take a first event and wait in the target appender, so that the queue fills up.
+     */
+    private void blockWriter() throws InterruptedException {
+        append(Level.INFO, "first");
+        assertThat(target.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void append(Level level, String message) {
+        appender.doAppend(event(level, message));
+    }
+
+    private LoggingEvent event(Level level, String message, Object... arguments) {
+        return new LoggingEvent(getClass().getName(), context.getLogger("test"), level, message, null, arguments);
+    }
+
+    /**
+     * Blocks the first event written by the ring buffer's writer until released; not synchronized, so that the
+     * calling thread can still write while the writer is blocked.
+     */
+    static class BlockingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        private final List<String> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            events.add(event);
+            threads.add(Thread.currentThread().getName());
+            if (Thread.currentThread().getName().startsWith("log-writer-") && blocked.getCount() > 0) {
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        List<String> messages() {
+            return events.stream().map(ILoggingEvent::getFormattedMessage).toList();
+        }
+    }
+}
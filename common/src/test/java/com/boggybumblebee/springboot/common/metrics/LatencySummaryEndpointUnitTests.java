@@ -0,0 +1,65 @@
+package com.boggybumblebee.springboot.common.metrics;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+public class LatencySummaryEndpointUnitTests {
+
+    @Test
+    public void testStatusCodesOfOneEndpointAreMerged() {
+        LatencyMetricsProperties properties = new LatencyMetricsProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new LatencyMeterFilter(properties));
+
+        Timer ok = registry.timer("http.server.requests", "method", "GET", "uri", "/employee", "status", "200", "outcome", "SUCCESS");
+        Timer failed = registry.timer("http.server.requests", "method", "GET", "uri", "/employee", "status", "500", "outcome", "SERVER_ERROR");
+        for (int i = 0; i < 99; i++) {
+            ok.record(Duration.ofMillis(20));
+        }
+        failed.record(Duration.ofSeconds(1));
+
+        List<LatencySummaryEndpoint.EndpointLatency> summary =
+                new LatencySummaryEndpoint(registry, properties).summary("http.server.requests");
+
+        assertThat(summary).hasSize(1);
+        LatencySummaryEndpoint.EndpointLatency latency = summary.get(0);
+        assertThat(latency.endpoint()).isEqualTo("GET /employee");
+        assertThat(latency.count()).isEqualTo(100);
+        assertThat(latency.serverErrors()).isEqualTo(1);
+        assertThat(latency.percentiles()).containsOnlyKeys("p50", "p95", "p99");
+        assertThat(latency.percentiles().get("p50")).isLessThanOrEqualTo(50.0);
+        assertThat(latency.availabilityBurnRate()).isCloseTo(10.0, offset(0.001));
+    }
+
+    @Test
+    public void testBurnRatesCoverTheSameWindow() {
+        LatencyMetricsProperties properties = new LatencyMetricsProperties();
+        MockClock clock = new MockClock();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        registry.config().meterFilter(new LatencyMeterFilter(properties));
+
+        registry.timer("http.server.requests", "uri", "/employee", "status", "500", "outcome", "SERVER_ERROR")
+                .record(Duration.ofSeconds(1));
+        clock.add(Duration.ofMinutes(5));
+        Timer ok = registry.timer("http.server.requests", "uri", "/employee", "status", "200", "outcome", "SUCCESS");
+        for (int i = 0; i < 100; i++) {
+            ok.record(Duration.ofMillis(20));
+        }
+
+        LatencySummaryEndpoint.EndpointLatency latency =
+                new LatencySummaryEndpoint(registry, properties).summary("http.server.requests").get(0);
+
+        assertThat(latency.serverErrors()).isEqualTo(1);
+        assertThat(latency.availabilityBurnRate()).isZero();
+        assertThat(latency.latencyBurnRate()).isZero();
+    }
+}
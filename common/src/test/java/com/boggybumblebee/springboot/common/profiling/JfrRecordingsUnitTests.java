@@ -0,0 +1,88 @@
+package com.boggybumblebee.springboot.common.profiling;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class JfrRecordingsUnitTests {
+
+    @TempDir
+    private Path directory;
+
+    private JfrRecordings recordings;
+
+    @AfterEach
+    public void tearDown() {
+        if (recordings != null) {
+            recordings.close();
+        }
+    }
+
+    @Test
+    public void testRecordingIsSummarisedOnceStopped() throws Exception {
+        recordings = new JfrRecordings(properties());
+
+        JfrRecordings.RecordingInfo started = recordings.start("profile", Duration.ofHours(1));
+        assertThat(started.state()).isEqualTo(JfrRecordings.State.RUNNING);
+        assertThat(started.duration()).isEqualTo(Duration.ofMinutes(1));
+        assertThatIllegalStateException().isThrownBy(() -> recordings.start(null, null));
+
+        busyWork();
+        recordings.stop(started.id());
+        JfrRecordings.RecordingInfo finished = awaitSummary(started.id());
+
+        assertThat(finished.state()).isEqualTo(JfrRecordings.State.FINISHED);
+        assertThat(finished.summary()).isNotNull();
+        Path file = recordings.file(started.id()).orElseThrow();
+        assertThat(RecordingFile.readAllEvents(file))
+                .noneMatch(event -> JfrRecordings.SENSITIVE_EVENTS.contains(event.getEventType().getName()));
+        assertThat(recordings.delete(started.id())).isTrue();
+        assertThat(recordings.list()).isEmpty();
+    }
+
+    @Test
+    public void testOnlyAllowedSettingsCanBeUsed() {
+        recordings = new JfrRecordings(properties());
+
+        assertThatIllegalArgumentException().isThrownBy(() -> recordings.start("custom", null));
+    }
+
+    private JfrProperties properties() {
+        JfrProperties properties = new JfrProperties();
+        properties.setDirectory(directory);
+        properties.setMaxDuration(Duration.ofMinutes(1));
+        return properties;
+    }
+
+    private JfrRecordings.RecordingInfo awaitSummary(long id) throws InterruptedException {
+        for (int attempt = 0; attempt < 300; attempt++) {
+            JfrRecordings.RecordingInfo info = recordings.get(id).orElseThrow();
+            if (info.state() != JfrRecordings.State.RUNNING && info.state() != JfrRecordings.State.SUMMARIZING) {
+                return info;
+            }
+            Thread.sleep(100);
+        }
+        return recordings.get(id).orElseThrow();
+    }
+
+    private static void busyWork() {
+        long deadline = System.nanoTime() + Duration.ofMillis(500).toNanos();
+        List<String> sink = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            sink.add(Long.toHexString(System.nanoTime()));
+            if (sink.size() > 10_000) {
+                sink.clear();
+            }
+        }
+    }
+}
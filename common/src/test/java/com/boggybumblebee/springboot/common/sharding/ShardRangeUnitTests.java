@@ -0,0 +1,77 @@
+package com.boggybumblebee.springboot.common.sharding;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class ShardRangeUnitTests {
+
+    @Test
+    public void testEveryKeyHasExactlyOneOwner() {
+        List<ShardRange> shards = IntStream.range(0, 3).mapToObj(index -> ShardRange.of(index, 3)).toList();
+
+        assertThat(shards.get(0).start()).isZero();
+        assertThat(shards.get(2).end()).isEqualTo(ShardRange.HASH_SPACE);
+        for (long key = 1; key <= 10_000; key++) {
+            long id = key;
+            assertThat(shards.stream().filter(shard -> shard.owns(id))).hasSize(1);
+        }
+    }
+
+    @Test
+    public void testSequentialKeysAreSpreadEvenly() {
+        List<ShardRange> shards = IntStream.range(0, 4).mapToObj(index -> ShardRange.of(index, 4)).toList();
+
+        for (ShardRange shard : shards) {
+            long owned = IntStream.rangeClosed(1, 1000).filter(shard::owns).count();
+            assertThat(owned).isBetween(200L, 300L);
+        }
+    }
+
+    @Test
+    public void testParseIsTheInverseOfToString() {
+        ShardRange range = ShardRange.of(1, 2);
+
+        assertThat(range).hasToString("32768-65536");
+        assertThat(ShardRange.parse(range.toString())).isEqualTo(range);
+        assertThatIllegalArgumentException().isThrownBy(() -> ShardRange.parse("32768-0"));
+    }
+
+    @Test
+    public void testInstancesWithoutMetadataOwnEveryKey() {
+        ServiceInstance first = instance("first", ShardRange.of(0, 2));
+        ServiceInstance second = instance("second", ShardRange.of(1, 2));
+        ServiceInstance unsharded = new DefaultServiceInstance("unsharded", "employee-service", "localhost", 8084, false);
+        long key = IntStream.rangeClosed(1, 100).filter(ShardRange.of(1, 2)::owns).findFirst().orElseThrow();
+
+        assertThat(ShardRouting.owners(List.of(first, second), key)).containsExactly(second);
+        assertThat(ShardRouting.isSharded(List.of(unsharded))).isFalse();
+        assertThat(ShardRouting.byRange(List.of(second, first)).keySet())
+                .containsExactly(ShardRange.of(0, 2), ShardRange.of(1, 2));
+        assertThat(ShardRouting.keyFromPath("/employee/department/42")).isEqualTo(42L);
+        assertThat(ShardRouting.keyFromPath("/employee/42")).isNull();
+    }
+
+    @Test
+    public void testIdsNameTheShardThatAllocatedThem() {
+        List<ShardRange> ranges = List.of(ShardRange.of(0, 2), ShardRange.of(1, 2));
+
+        assertThat(ShardRouting.rangeOfId(ranges, 1)).isEqualTo(ShardRange.of(0, 2));
+        assertThat(ShardRouting.rangeOfId(ranges, ShardRouting.ID_BLOCK + 1)).isEqualTo(ShardRange.of(1, 2));
+        assertThat(ShardRouting.rangeOfId(ranges, 2 * ShardRouting.ID_BLOCK + 1)).isNull();
+        assertThat(ShardRouting.rangeOfId(List.of(ShardRange.of(0, 3), ShardRange.of(1, 3)), ShardRouting.ID_BLOCK + 1))
+                .isNull();
+    }
+
+    private static ServiceInstance instance(String id, ShardRange range) {
+        return new DefaultServiceInstance(id, "employee-service", "localhost", 8082, false,
+                Map.of(ShardRouting.METADATA_KEY, range.toString()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.boggybumblebee.springboot.common.sharding;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardRoutingServiceInstanceListSupplierUnitTests {
+
+    private static final ServiceInstance FIRST = instance("first", ShardRange.of(0, 2));
+    private static final ServiceInstance SECOND = instance("second", ShardRange.of(1, 2));
+
+    private final ShardRoutingServiceInstanceListSupplier supplier = new ShardRoutingServiceInstanceListSupplier(
+            ServiceInstanceListSuppliers.from("employee-service", FIRST, SECOND));
+
+    @Test
+    public void testRangeHeaderSelectsTheShard() {
+        assertThat(choose("/employee", ShardRouting.RANGE_HEADER, ShardRange.of(1, 2).toString()))
+                .containsExactly(SECOND);
+    }
+
+    @Test
+    public void testInvalidHeadersFallBackToUnshardedSelection() {
+        assertThat(choose("/employee", ShardRouting.RANGE_HEADER, "not-a-range")).containsExactly(FIRST, SECOND);
+        assertThat(choose("/employee", ShardRouting.RANGE_HEADER, "9-3")).containsExactly(FIRST, SECOND);
+        assertThat(choose("/employee", ShardRouting.KEY_HEADER, "abc")).containsExactly(FIRST, SECOND);
+        assertThat(choose("/employee/department/99999999999999999999", null, null)).containsExactly(FIRST, SECOND);
+    }
+
+    @Test
+    public void testInvalidHeaderDoesNotHideTheKeyInThePath() {
+        List<ServiceInstance> owners = choose("/employee/department/7", ShardRouting.KEY_HEADER, "seven");
+
+        assertThat(owners).hasSize(1).allMatch(instance -> ShardRouting.rangeOf(instance).owns(7));
+    }
+
+    private List<ServiceInstance> choose(String path, String header, String value) {
+        HttpHeaders headers = new HttpHeaders();
+        if (header != null && value != null) {
+            headers.add(header, value);
+        }
+        RequestData data = new RequestData(HttpMethod.GET, URI.create("http://employee-service" + path), headers,
+                new LinkedMultiValueMap<>(), Map.of());
+        return supplier.get(new DefaultRequest<>(new RequestDataContext(data))).blockFirst();
+    }
+
+    private static ServiceInstance instance(String id, ShardRange range) {
+        return new DefaultServiceInstance(id, "employee-service", id, 8080, false,
+                Map.of(ShardRouting.METADATA_KEY, range.toString()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveSamplerUnitTests {
+
+    @Test
+    public void testRequestPathSelectsBudget() {
+        TracingSamplingProperties.Rule actuator = new TracingSamplingProperties.Rule();
+        actuator.setPath("/actuator");
+        actuator.setTracesPerSecond(0);
+        TracingSamplingProperties properties = new TracingSamplingProperties();
+        properties.setTracesPerSecond(100);
+        properties.setRules(List.of(actuator));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveSampler sampler = new AdaptiveSampler(properties, registry);
+
+        SamplingContext.setPath("/actuator/health");
+        assertThat(sampler.isSampled(1L)).isFalse();
+
+        SamplingContext.setPath("/employee");
+        assertThat(sampler.isSampled(2L)).isTrue();
+
+        assertThat(registry.get("tracing.sampling.decisions").tags("rule", "/actuator", "decision", "not_sampled")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("tracing.sampling.decisions").tags("rule", "default", "decision", "sampled")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void testPathIsConsumedByTheDecision() {
+        SamplingContext.setPath("/employee");
+
+        assertThat(SamplingContext.consumePath()).isEqualTo("/employee");
+        assertThat(SamplingContext.consumePath()).isNull();
+    }
+}
@@ -0,0 +1,34 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SamplingContextHttpHandlerDecoratorUnitTests {
+
+    @Test
+    public void testUnconsumedPathIsClearedWhenTheRequestCompletes() {
+        // Leaves the path unconsumed, as for a request that arrives with a sampling decision.
+        HttpHandler handler = new SamplingContextHttpHandlerDecorator().apply((request, response) -> Mono.empty());
+
+        handler.handle(MockServerHttpRequest.get("/employee").build(), new MockServerHttpResponse()).block();
+
+        assertThat(SamplingContext.consumePath()).isNull();
+    }
+
+    @Test
+    public void testPathIsClearedWhenTheHandlerFails() {
+        HttpHandler handler = new SamplingContextHttpHandlerDecorator().apply((request, response) ->
+                Mono.error(new IllegalStateException("boom")));
+
+        handler.handle(MockServerHttpRequest.get("/employee").build(), new MockServerHttpResponse())
+                .onErrorResume(e -> Mono.empty())
+                .block();
+
+        assertThat(SamplingContext.consumePath()).isNull();
+    }
+}
@@ -0,0 +1,151 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import com.boggybumblebee.springboot.common.concurrent.BoundedQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import zipkin2.Call;
+import zipkin2.Span;
+import zipkin2.codec.Encoding;
+import zipkin2.reporter.Sender;
+
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpanExportPipelineUnitTests {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    public void testSpansAreSpilledWhileCollectorIsDownAndReplayedLater() {
+        StandInCollector collector = new StandInCollector();
+        SpanSpillFile spillFile = new SpanSpillFile(spillDirectory.resolve("test.spans"), 1024 * 1024);
+
+        collector.available = false;
+        SpanExportPipeline down = pipeline(collector, spillFile, new SimpleMeterRegistry());
+        for (int i = 1; i <= 10; i++) {
+            down.report(span(i));
+        }
+        down.close();
+
+        assertThat(collector.received).isEmpty();
+        assertThat(spillFile.size()).isPositive();
+
+        collector.available = true;
+        SpanExportPipeline up = pipeline(collector, spillFile, new SimpleMeterRegistry());
+        up.report(span(11));
+        up.close();
+
+        assertThat(collector.received).hasSize(11);
+        assertThat(spillFile.size()).isZero();
+    }
+
+    @Test
+    public void testSpilledSpansAreReplayedOnATimerWithoutNewTraffic() throws Exception {
+        StandInCollector collector = new StandInCollector();
+        SpanSpillFile spillFile = new SpanSpillFile(spillDirectory.resolve("test.spans"), 1024 * 1024);
+        SpanExportPipeline pipeline = new SpanExportPipeline(collector, new BoundedQueue<>(100), spillFile, 4,
+                Duration.ofMillis(20), Duration.ofMillis(100), new SimpleMeterRegistry());
+
+        collector.available = false;
+        for (int i = 1; i <= 10; i++) {
+            pipeline.report(span(i));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (spillFile.size() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(spillFile.size()).isPositive();
+
+        collector.available = true;
+        while (collector.received.size() < 10 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        pipeline.close();
+
+        assertThat(collector.received).hasSize(10);
+        assertThat(spillFile.size()).isZero();
+    }
+
+    @Test
+    public void testInstancesSharingADirectoryClaimSeparateSpillFiles() throws Exception {
+        try (SpanSpillFile first = SpanSpillFile.claim(spillDirectory, "employee-service", 1024);
+             SpanSpillFile second = SpanSpillFile.claim(spillDirectory, "employee-service", 1024)) {
+            first.append(List.of(new byte[]{1}));
+            second.append(List.of(new byte[]{2, 2}));
+
+            assertThat(first.size()).isEqualTo(Integer.BYTES + 1);
+            assertThat(second.size()).isEqualTo(Integer.BYTES + 2);
+        }
+
+        try (SpanSpillFile reclaimed = SpanSpillFile.claim(spillDirectory, "employee-service", 1024)) {
+            assertThat(reclaimed.size()).as("first file is free again, with its spans").isEqualTo(Integer.BYTES + 1);
+        }
+    }
+
+    @Test
+    public void testSpansAreDroppedWhenTheQueueIsFull() {
+        StandInCollector collector = new StandInCollector();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SpanExportPipeline pipeline = new SpanExportPipeline(collector, new BoundedQueue<>(1), null, 100,
+                Duration.ofHours(1), Duration.ofHours(1), registry);
+
+        pipeline.report(span(1));
+        pipeline.report(span(2));
+        pipeline.close();
+
+        assertThat(registry.get("tracing.export.spans").tag("result", "dropped_queue_full").counter().count())
+                .isEqualTo(1.0);
+        assertThat(collector.received).hasSize(1);
+    }
+
+    private static SpanExportPipeline pipeline(Sender sender, SpanSpillFile spillFile, SimpleMeterRegistry registry) {
+        return new SpanExportPipeline(sender, new BoundedQueue<>(100), spillFile, 4, Duration.ofMillis(50),
+                Duration.ofHours(1), registry);
+    }
+
+    private static Span span(long id) {
+        return Span.newBuilder().traceId(1L, id).id(id).name("span-" + id).build();
+    }
+
+    /**
+     * Local stand-in for the Zipkin collector that can be switched off.
+     */
+    private static final class StandInCollector extends Sender {
+
+        private final List<byte[]> received = new CopyOnWriteArrayList<>();
+        private volatile boolean available = true;
+
+        @Override
+        public Encoding encoding() {
+            return Encoding.JSON;
+        }
+
+        @Override
+        public int messageMaxBytes() {
+            return 512 * 1024;
+        }
+
+        @Override
+        public int messageSizeInBytes(List<byte[]> encodedSpans) {
+            return encoding().listSizeInBytes(encodedSpans);
+        }
+
+        @Override
+        public Call<Void> sendSpans(List<byte[]> encodedSpans) {
+            if (!available) {
+                throw new UncheckedIOException(new ConnectException("collector unavailable"));
+            }
+            received.addAll(encodedSpans);
+            return Call.create(null);
+        }
+    }
+}
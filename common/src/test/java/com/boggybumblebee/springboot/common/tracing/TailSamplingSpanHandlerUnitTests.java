@@ -0,0 +1,106 @@
+package com.boggybumblebee.springboot.common.tracing;
+
+import brave.Tracer;
+import brave.Tracing;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import zipkin2.Span;
+import zipkin2.reporter.Reporter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TailSamplingSpanHandlerUnitTests {
+
+    private final List<Span> reported = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private Tracing tracing;
+
+    @AfterEach
+    public void closeTracing() {
+        if (tracing != null) {
+            tracing.close();
+        }
+    }
+
+    @Test
+    public void testFailedSpanRetainsItsWholeLocalTrace() {
+        Tracer tracer = tracer(new TracingSamplingProperties());
+
+        brave.Span root = tracer.newTrace().name("root").start();
+        tracer.newChild(root.context()).name("query").start().finish();
+        tracer.newChild(root.context()).name("client").start().error(new IllegalStateException("boom")).finish();
+        assertThat(reported).isEmpty();
+        root.finish();
+
+        assertThat(reported).extracting(Span::name).containsExactlyInAnyOrder("root", "query", "client");
+        assertThat(spans("retained_error")).isEqualTo(3.0);
+    }
+
+    @Test
+    public void testSlowRootRetainsItsWholeLocalTrace() {
+        Tracer tracer = tracer(new TracingSamplingProperties());
+
+        brave.Span root = tracer.newTrace().name("root").start(1_000_000L);
+        tracer.newChild(root.context()).name("query").start(1_000_100L).finish(1_000_200L);
+        root.finish(1_600_000L);
+
+        assertThat(reported).extracting(Span::name).containsExactlyInAnyOrder("root", "query");
+        assertThat(spans("retained_slow")).isEqualTo(2.0);
+    }
+
+    @Test
+    public void testFastSuccessfulTraceIsDropped() {
+        Tracer tracer = tracer(new TracingSamplingProperties());
+
+        brave.Span root = tracer.newTrace().name("root").start();
+        tracer.newChild(root.context()).name("query").start().finish();
+        root.finish();
+
+        assertThat(reported).isEmpty();
+        assertThat(spans("dropped")).isEqualTo(2.0);
+        assertThat(registry.get("tracing.sampling.buffered.spans").gauge().value()).isZero();
+    }
+
+    @Test
+    public void testSpansBeyondTheBufferAreDropped() {
+        TracingSamplingProperties properties = new TracingSamplingProperties();
+        properties.getTail().setMaxBufferedSpans(1);
+        Tracer tracer = tracer(properties);
+
+        brave.Span root = tracer.newTrace().name("root").start();
+        tracer.newChild(root.context()).name("first").start().finish();
+        tracer.newChild(root.context()).name("second").start().finish();
+        root.error(new IllegalStateException("boom")).finish();
+
+        assertThat(reported).extracting(Span::name).containsExactlyInAnyOrder("root", "first");
+        assertThat(spans("dropped")).isEqualTo(1.0);
+    }
+
+    private Tracer tracer(TracingSamplingProperties properties) {
+        TailSamplingSpanHandler handler = new TailSamplingSpanHandler(properties, reporter(reported::add), registry);
+        tracing = Tracing.newBuilder()
+                .sampler(Sampler.NEVER_SAMPLE)
+                .alwaysSampleLocal()
+                .addSpanHandler(handler)
+                .build();
+        return tracing.tracer();
+    }
+
+    private double spans(String decision) {
+        return registry.get("tracing.sampling.spans").tag("decision", decision).counter().count();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ObjectProvider<Reporter<Span>> reporter(Reporter<Span> reporter) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("reporter", reporter);
+        return (ObjectProvider) beanFactory.getBeanProvider(Reporter.class);
+    }
+}
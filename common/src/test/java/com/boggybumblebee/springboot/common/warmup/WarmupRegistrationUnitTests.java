@@ -0,0 +1,112 @@
+package com.boggybumblebee.springboot.common.warmup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.cloud.client.serviceregistry.ServiceRegistry;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WarmupRegistrationUnitTests {
+
+    @Test
+    public void testInstanceRegistersAsStartingWhileWarmingUp() {
+        MockEnvironment environment = new MockEnvironment().withProperty("microservice.warmup.enabled", "true");
+
+        new WarmupEnvironmentPostProcessor().postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getProperty(WarmupEnvironmentPostProcessor.INITIAL_STATUS)).isEqualTo("STARTING");
+    }
+
+    @Test
+    public void testConfiguredInitialStatusWins() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("microservice.warmup.enabled", "true")
+                .withProperty(WarmupEnvironmentPostProcessor.INITIAL_STATUS, "UP");
+
+        new WarmupEnvironmentPostProcessor().postProcessEnvironment(environment, new SpringApplication());
+
+        assertThat(environment.getProperty(WarmupEnvironmentPostProcessor.INITIAL_STATUS)).isEqualTo("UP");
+    }
+
+    @Test
+    public void testInstanceIsSetUpOnceWarmedUp() {
+        RecordingServiceRegistry registry = new RecordingServiceRegistry();
+        TestRegistration registration = new TestRegistration();
+
+        new WarmupAutoConfiguration.ServiceRegistryStatusConfiguration()
+                .warmupRegistrationStatus(registry, registration)
+                .onApplicationEvent(new WarmupCompletedEvent(this, Duration.ofSeconds(1), 10, 0));
+
+        assertThat(registry.status).isEqualTo("UP");
+    }
+
+    static class RecordingServiceRegistry implements ServiceRegistry<Registration> {
+
+        private String status = "STARTING";
+
+        @Override
+        public void register(Registration registration) {
+
+        }
+
+        @Override
+        public void deregister(Registration registration) {
+
+        }
+
+        @Override
+        public void close() {
+
+        }
+
+        @Override
+        public void setStatus(Registration registration, String status) {
+            this.status = status;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getStatus(Registration registration) {
+            return (T) status;
+        }
+    }
+
+    static class TestRegistration implements Registration {
+
+        @Override
+        public String getServiceId() {
+            return "employee-service";
+        }
+
+        @Override
+        public String getHost() {
+            return "localhost";
+        }
+
+        @Override
+        public int getPort() {
+            return 8082;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return false;
+        }
+
+        @Override
+        public URI getUri() {
+            return URI.create("http://localhost:8082");
+        }
+
+        @Override
+        public Map<String, String> getMetadata() {
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.boggybumblebee.springboot.common.warmup;
+
+import com.boggybumblebee.springboot.common.warmup.WarmupRunner.WarmupRequest;
+import com.boggybumblebee.springboot.common.warmup.WarmupRunner.WarmupResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WarmupRunnerUnitTests {
+
+    @Test
+    public void testParseDefaultsToGet() {
+        assertThat(WarmupRequest.parse("/employee")).isEqualTo(new WarmupRequest("GET", "/employee", false));
+        assertThat(WarmupRequest.parse("  HEAD   /employee?fields=id ")).isEqualTo(
+                new WarmupRequest("HEAD", "/employee?fields=id", false));
+    }
+
+    @Test
+    public void testResolveFillsPlaceholders() {
+        WarmupRequest request = WarmupRequest.parse("GET /employee/department/{departmentId}?fields={field}");
+
+        assertThat(request.hasPlaceholders()).isTrue();
+        assertThat(request.resolve(Map.of("departmentId", "2", "field", "name")).path())
+                .isEqualTo("/employee/department/2?fields=name");
+        assertThat(request.resolve(Map.of("departmentId", "2"))).isNull();
+        assertThat(WarmupRequest.parse("/employee/1").resolve(Map.of()).path()).isEqualTo("/employee/1");
+    }
+
+    @Test
+    public void testPrepareUsesSeedValuesAndDropsFailingRequests() {
+        WarmupProperties properties = properties(1, 1, Duration.ofSeconds(1));
+        properties.setSeed("GET /employee?fields=id,departmentId");
+        List<WarmupRequest> requests = List.of(WarmupRequest.parse("/employee/{id}"),
+                WarmupRequest.parse("/employee/department/{departmentId}"),
+                WarmupRequest.parse("/employee/department/1"),
+                WarmupRequest.parse("/employee/{missing}"));
+        AtomicLong sent = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        List<WarmupRequest> prepared = runner(properties).prepare(requests, request -> switch (request.path()) {
+            case "/employee?fields=id,departmentId" -> new WarmupResponse(200, "[{\"id\":5,\"departmentId\":3}]");
+            case "/employee/5", "/employee/department/3" -> new WarmupResponse(200, null);
+            default -> new WarmupResponse(421, null);
+        }, sent, failed);
+
+        assertThat(prepared).extracting(WarmupRequest::path).containsExactly("/employee/5", "/employee/department/3");
+        assertThat(sent).hasValue(3);
+        assertThat(failed).hasValue(1);
+    }
+
+    @Test
+    public void testPrepareWithoutSeedDropsPlaceholderRequests() {
+        AtomicLong sent = new AtomicLong();
+
+        List<WarmupRequest> prepared = runner(properties(1, 1, Duration.ofSeconds(1))).prepare(
+                List.of(WarmupRequest.parse("/employee/{id}"), WarmupRequest.parse("/employee")),
+                request -> new WarmupResponse(200, null), sent, new AtomicLong());
+
+        assertThat(prepared).extracting(WarmupRequest::path).containsExactly("/employee");
+        assertThat(sent).hasValue(1);
+    }
+
+    @Test
+    public void testWarmUpStopsAfterTheIterations() throws Exception {
+        WarmupProperties properties = properties(5, 3, Duration.ofMinutes(1));
+        AtomicLong sent = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+
+        runner(properties).warmUp(List.of(WarmupRequest.parse("/a"), WarmupRequest.parse("/b")),
+                request -> new WarmupResponse(request.path().equals("/a") ? 200 : 500, null),
+                System.nanoTime() + TimeUnit.MINUTES.toNanos(1), sent, failed);
+
+        assertThat(sent).hasValue(10);
+        assertThat(failed).hasValue(5);
+    }
+
+    @Test
+    public void testWarmUpStopsAtTheDeadline() throws Exception {
+        WarmupProperties properties = properties(Integer.MAX_VALUE, 2, Duration.ofMillis(200));
+        AtomicLong sent = new AtomicLong();
+        long start = System.nanoTime();
+
+        runner(properties).warmUp(List.of(WarmupRequest.parse("/a")), request -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new WarmupResponse(200, null);
+        }, start + properties.getDuration().toNanos(), sent, new AtomicLong());
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(sent.get()).isPositive().isLessThan(Integer.MAX_VALUE);
+    }
+
+    private static WarmupProperties properties(int iterations, int concurrency, Duration duration) {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setIterations(iterations);
+        properties.setConcurrency(concurrency);
+        properties.setDuration(duration);
+        return properties;
+    }
+
+    private static WarmupRunner runner(WarmupProperties properties) {
+        return new WarmupRunner(properties, new MockEnvironment(), event -> {
+        }, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,23 @@
+package com.boggybumblebee.springboot.departmentservice.accounting;
+
+import com.boggybumblebee.springboot.common.accounting.AspectCostAccountable;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@ConditionalOnProperty(prefix = "microservice.request-cost", name = "enabled", havingValue = "true")
+public class AspectCostAccountant implements AspectCostAccountable {
+
+    /**
+     * Pointcut that matches the employee-service client and all Spring Data repositories.
+     */
+    @Override
+    @Pointcut("this(com.boggybumblebee.springboot.departmentservice.client.EmployeeClient)" +
+            " || this(org.springframework.data.repository.Repository)")
+    public void componentPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+}
@@ -1,17 +1,48 @@
 package com.boggybumblebee.springboot.departmentservice.client;
 
 
+import com.boggybumblebee.springboot.common.sharding.ShardRouting;
 import com.boggybumblebee.springboot.departmentservice.model.Employee;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.HttpExchange;
+import org.springframework.web.service.annotation.PostExchange;
 
 import java.util.List;
 
+/**
+ * Calls are routed to the employee-service shard owning the department; use {@link ShardedEmployeeClient} to read
+ * employees of every department.
+ */
 @HttpExchange
 public interface EmployeeClient {
 
     @GetExchange("/employee/department/{departmentId}")
     public List<Employee> findByDepartment(@PathVariable("departmentId") Long departmentId);
 
+    /**
+     * The employees of one department with only the given fields set, or all of them when fields is null.
+     */
+    @GetExchange("/employee/department/{departmentId}")
+    public List<Employee> findByDepartment(@PathVariable("departmentId") Long departmentId,
+                                           @RequestParam(name = "fields", required = false) String fields);
+
+    /**
+     * The employees of one shard, or of any instance when range is null, ordered by id, with only the given fields
+     * set, or all of them when fields is null.
+     */
+    @GetExchange("/employee")
+    public List<Employee> findAll(@RequestHeader(name = ShardRouting.RANGE_HEADER, required = false) String range,
+                                  @RequestParam(name = "fields", required = false) String fields);
+
+    @PostExchange("/employee")
+    public Employee add(@RequestHeader(ShardRouting.KEY_HEADER) Long departmentId, @RequestBody Employee employee);
+
+    public default Employee add(Employee employee) {
+        return add(employee.departmentId(), employee);
+    }
+
 }
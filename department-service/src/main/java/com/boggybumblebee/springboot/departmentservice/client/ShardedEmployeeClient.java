@@ -0,0 +1,112 @@
+package com.boggybumblebee.springboot.departmentservice.client;
+
+import com.boggybumblebee.springboot.common.accounting.RequestCost;
+import com.boggybumblebee.springboot.common.sharding.ShardRange;
+import com.boggybumblebee.springboot.common.sharding.ShardRouting;
+import com.boggybumblebee.springboot.departmentservice.model.Employee;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads that span every department, scattered over the employee-service shards and gathered by id.
+ */
+public class ShardedEmployeeClient implements Closeable {
+
+    public static final String SERVICE_ID = "employee-service";
+
+    /**
+     * The name request cost accounting gives {@link EmployeeClient#findAll} calls made on the request's thread.
+     */
+    private static final String FIND_ALL_COMPONENT = "EmployeeClient.findAll";
+
+    private static final int SHARD_THREADS = 16;
+
+    private final EmployeeClient employeeClient;
+    private final DiscoveryClient discoveryClient;
+    private final ExecutorService executor;
+
+    public ShardedEmployeeClient(EmployeeClient employeeClient, DiscoveryClient discoveryClient) {
+        this.employeeClient = employeeClient;
+        this.discoveryClient = discoveryClient;
+        // Bounded, and a saturated pool makes the request thread query the shard itself rather than queue it.
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(SHARD_THREADS, SHARD_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(SHARD_THREADS), runnable -> {
+            Thread thread = new Thread(runnable, "employee-shards");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        // Carries the request's observation over, so that the shard calls are traced as its children.
+        this.executor = ContextExecutorService.wrap(pool, ContextSnapshotFactory.builder().build()::captureAll);
+    }
+
+    public List<Employee> findAll() {
+        return findAll(null);
+    }
+
+    /**
+     * Queries the other shards on the pool while the calling thread queries the first; fails if any shard fails
+     * rather than returning a partial list. The pool's share of the work is added to the request's cost.
+     *
+     * @param fields the {@code fields} parameter passed on to every shard, or null for all fields; must include id
+     */
+    public List<Employee> findAll(String fields) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(SERVICE_ID);
+        if (!ShardRouting.isSharded(instances)) {
+            return employeeClient.findAll(null, fields);
+        }
+        List<String> ranges = ShardRouting.byRange(instances).keySet().stream().map(ShardRange::toString).toList();
+        List<Future<RequestCost.Measured<List<Employee>>>> others = new ArrayList<>(ranges.size() - 1);
+        try {
+            for (String range : ranges.subList(1, ranges.size())) {
+                others.add(executor.submit(RequestCost.measure(() -> employeeClient.findAll(range, fields))));
+            }
+            List<Employee> employees = new ArrayList<>(employeeClient.findAll(ranges.get(0), fields));
+            RequestCost cost = RequestCost.current();
+            for (Future<RequestCost.Measured<List<Employee>>> other : others) {
+                RequestCost.Measured<List<Employee>> shard = await(other);
+                employees.addAll(shard.value());
+                if (cost != null) {
+                    cost.addDelegated(FIND_ALL_COMPONENT, shard);
+                }
+            }
+            // Each shard's list is already ordered by id, so the sort only merges sorted runs.
+            employees.sort(Comparator.comparing(Employee::id));
+            return employees;
+        } finally {
+            others.forEach(other -> other.cancel(true));
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading employee shards", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.boggybumblebee.springboot.departmentservice.config;
+
+import com.boggybumblebee.springboot.common.sharding.ShardRoutingLoadBalancerConfiguration;
+import com.boggybumblebee.springboot.departmentservice.client.EmployeeClient;
+import com.boggybumblebee.springboot.departmentservice.client.ShardedEmployeeClient;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerInterceptor;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.support.RestClientAdapter;
+import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+
+@Configuration
+@LoadBalancerClient(name = ShardedEmployeeClient.SERVICE_ID, configuration = ShardRoutingLoadBalancerConfiguration.class)
+public class EmployeeClientConfig {
+
+    private final LoadBalancerInterceptor loadBalancerInterceptor;
+    private final RestClient.Builder restClientBuilder;
+
+    /**
+     * The Spring Boot managed builder carries the observation customizer, so every EmployeeClient call is recorded
+     * as an http.client.requests timer and traced. The calls block the request thread, so their whole cost, decoding
+     * included, is counted by request cost accounting.
+     */
+    public EmployeeClientConfig(LoadBalancerInterceptor loadBalancerInterceptor, RestClient.Builder restClientBuilder) {
+        this.loadBalancerInterceptor = loadBalancerInterceptor;
+        this.restClientBuilder = restClientBuilder;
+    }
+
+    @Bean
+    public RestClient employeeRestClient() {
+        return restClientBuilder.clone()
+                .baseUrl("http://" + ShardedEmployeeClient.SERVICE_ID)
+                .requestInterceptor(loadBalancerInterceptor)
+                .build();
+    }
+
+    @Bean
+    public EmployeeClient employeeClient() {
+        HttpServiceProxyFactory httpServiceProxyFactory
+                = HttpServiceProxyFactory
+                .builderFor(RestClientAdapter.create(employeeRestClient()))
+                .build();
+        return httpServiceProxyFactory.createClient(EmployeeClient.class);
+    }
+
+    @Bean
+    public ShardedEmployeeClient shardedEmployeeClient(EmployeeClient employeeClient, DiscoveryClient discoveryClient) {
+        return new ShardedEmployeeClient(employeeClient, discoveryClient);
+    }
+}
@@ -1,36 +0,0 @@
-package com.boggybumblebee.springboot.departmentservice.config;
-
-import com.boggybumblebee.springboot.departmentservice.client.EmployeeClient;
-import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.support.WebClientAdapter;
-import org.springframework.web.service.invoker.HttpServiceProxyFactory;
-
-@Configuration
-public class WebClientConfig {
-
-    private final LoadBalancedExchangeFilterFunction filterFunction;
-
-    public WebClientConfig(LoadBalancedExchangeFilterFunction filterFunction) {
-        this.filterFunction = filterFunction;
-    }
-
-    @Bean
-    public WebClient employeeWebClient() {
-        return WebClient.builder()
-                .baseUrl("http://employee-service")
-                .filter(filterFunction)
-                .build();
-    }
-
-    @Bean
-    public EmployeeClient employeeClient() {
-        HttpServiceProxyFactory httpServiceProxyFactory
-                = HttpServiceProxyFactory
-                .builderFor(WebClientAdapter.create(employeeWebClient()))
-                .build();
-        return httpServiceProxyFactory.createClient(EmployeeClient.class);
-    }
-}
@@ -1,28 +1,40 @@
 package com.boggybumblebee.springboot.departmentservice.controller;
 
 
-import com.boggybumblebee.springboot.departmentservice.client.EmployeeClient;
+import com.boggybumblebee.springboot.common.fields.FieldSelection;
+import com.boggybumblebee.springboot.departmentservice.client.ShardedEmployeeClient;
 import com.boggybumblebee.springboot.departmentservice.model.Department;
+import com.boggybumblebee.springboot.departmentservice.model.DepartmentView;
+import com.boggybumblebee.springboot.departmentservice.model.Employee;
 import com.boggybumblebee.springboot.departmentservice.repository.DepartmentRepository;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/department")
 public class DepartmentController {
 
+    private static final Set<String> DEPARTMENT_FIELDS = Set.of("id", "name", "employees");
+    private static final Set<String> EMPLOYEE_FIELDS = Set.of("id", "departmentId", "name", "age", "position");
+
     private final DepartmentRepository repository;
-    private final EmployeeClient employeeClient;
+    private final ShardedEmployeeClient employeeClient;
 
-    public DepartmentController(DepartmentRepository repository, EmployeeClient employeeClient) {
+    public DepartmentController(DepartmentRepository repository, ShardedEmployeeClient employeeClient) {
         this.repository = repository;
         this.employeeClient = employeeClient;
     }
@@ -30,7 +42,7 @@ public class DepartmentController {
     @Bean
     CommandLineRunner initDepartments(DepartmentRepository repo) {
         return args -> {
-            if (repo.findAll().isEmpty()) {
+            if (repo.count() == 0) {
                 repo.save(new Department("HR"));
                 repo.save(new Department("Finance"));
                 repo.save(new Department("Operations"));
@@ -56,10 +68,57 @@ public class DepartmentController {
         return repository.findById(id).orElseThrow();
     }
 
+    /**
+     * @param fields e.g. {@code id,employees.name}; the employee fields are passed on to employee-service, which only
+     *               reads and returns those (plus the keys needed to group them)
+     */
     @GetMapping("/with-employees")
-    public List<Department> findAllWithEmployees() {
+    public List<?> findAllWithEmployees(@RequestParam(name = "fields", required = false) String fields) {
+        FieldSelection selection = select(fields);
         List<Department> departments = repository.findAll();
-        departments.forEach(department -> department.setEmployees(employeeClient.findByDepartment(department.getId())));
-        return departments;
+        if (selection.isAll()) {
+            // One scatter-gather over the employee shards instead of a request per department.
+            Map<Long, List<Employee>> employees = employeeClient.findAll().stream()
+                    .filter(employee -> employee.departmentId() != null)
+                    .collect(Collectors.groupingBy(Employee::departmentId));
+            departments.forEach(department -> department.setEmployees(employees.getOrDefault(department.getId(), List.of())));
+            return departments;
+        }
+        Map<Long, List<Employee>> employees;
+        if (selection.includes("employees")) {
+            FieldSelection employeeFields = selection.nested("employees");
+            employees = employeeClient.findAll(employeeFields.with("id", "departmentId").toParameter()).stream()
+                    .filter(employee -> employee.departmentId() != null)
+                    .collect(Collectors.groupingBy(Employee::departmentId,
+                            Collectors.mapping(employee -> employee.select(employeeFields), Collectors.toList())));
+        } else {
+            employees = null;
+        }
+        return departments.stream()
+                .map(department -> new DepartmentView(
+                        selection.includes("id") ? department.getId() : null,
+                        selection.includes("name") ? department.getName() : null,
+                        employees != null ? employees.getOrDefault(department.getId(), List.of()) : null))
+                .toList();
+    }
+
+    private static FieldSelection select(String fields) {
+        try {
+            FieldSelection selection = FieldSelection.parse(fields).validate(DEPARTMENT_FIELDS);
+            FieldSelection employees = selection.nested("employees").validate(EMPLOYEE_FIELDS);
+            checkFlat(selection, "id", "name");
+            checkFlat(employees, employees.names().toArray(String[]::new));
+            return selection;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static void checkFlat(FieldSelection selection, String... fields) {
+        for (String field : fields) {
+            if (!selection.nested(field).isAll()) {
+                throw new IllegalArgumentException("Field '" + field + "' has no nested fields");
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.boggybumblebee.springboot.departmentservice.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * A department as returned for a {@code ?fields=} selection; fields left out are null and not serialised.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DepartmentView(Long id, String name, List<Employee> employees) {
+}
@@ -1,4 +1,26 @@
 package com.boggybumblebee.springboot.departmentservice.model;
 
-public record Employee(Long id, Long departmentId, String name, int age, String position) {
+import com.boggybumblebee.springboot.common.fields.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Fields left out by a {@code ?fields=} selection are null and not serialised.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record Employee(Long id, Long departmentId, String name, Integer age, String position) {
+
+    /**
+     * This employee with the fields outside the selection cleared.
+     */
+    public Employee select(FieldSelection fields) {
+        if (fields.isAll()) {
+            return this;
+        }
+        return new Employee(
+                fields.includes("id") ? id : null,
+                fields.includes("departmentId") ? departmentId : null,
+                fields.includes("name") ? name : null,
+                fields.includes("age") ? age : null,
+                fields.includes("position") ? position : null);
+    }
 }
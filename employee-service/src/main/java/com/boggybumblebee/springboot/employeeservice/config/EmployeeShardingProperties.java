@@ -0,0 +1,47 @@
+package com.boggybumblebee.springboot.employeeservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "microservice.employee.sharding")
+public class EmployeeShardingProperties {
+
+    /**
+     * Makes this instance own only the departments whose hash falls in its shard range, advertised to clients
+     * through the shard-range instance metadata.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of shards the department hash space is split into.
+     */
+    private int count = 1;
+
+    /**
+     * Zero-based shard this instance owns; replicas of a shard share the index.
+     */
+    private int index = 0;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+}
@@ -0,0 +1,61 @@
+package com.boggybumblebee.springboot.employeeservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "microservice.employee.write")
+public class EmployeeWriteProperties {
+
+    /**
+     * Coalesces concurrent single-employee writes into one JDBC batch and transaction.
+     */
+    private boolean coalescing = false;
+
+    /**
+     * How long the first write of a batch waits for others to join it.
+     */
+    private Duration window = Duration.ofMillis(2);
+
+    /**
+     * Writes per batch; a full batch is flushed without waiting for the window.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Writes waiting for a batch; beyond it callers write directly in their own transaction.
+     */
+    private int maxQueued = 10_000;
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(int maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+}
@@ -0,0 +1,23 @@
+package com.boggybumblebee.springboot.employeeservice.config;
+
+import com.boggybumblebee.springboot.employeeservice.repository.EmployeeRepository;
+import com.boggybumblebee.springboot.employeeservice.service.EmployeeWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(EmployeeWriteProperties.class)
+public class EmployeeWriterConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmployeeWriter employeeWriter(EmployeeRepository repository, PlatformTransactionManager transactionManager,
+                                         EmployeeWriteProperties properties, MeterRegistry registry) {
+        return new EmployeeWriter(repository, new TransactionTemplate(transactionManager), properties, registry);
+    }
+}
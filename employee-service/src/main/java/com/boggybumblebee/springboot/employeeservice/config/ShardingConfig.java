@@ -0,0 +1,53 @@
+package com.boggybumblebee.springboot.employeeservice.config;
+
+import com.boggybumblebee.springboot.common.sharding.ShardRange;
+import com.boggybumblebee.springboot.common.sharding.ShardRouting;
+import com.netflix.appinfo.ApplicationInfoManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(EmployeeShardingProperties.class)
+public class ShardingConfig {
+
+    /**
+     * Hibernate's default sequence increment: the pooled optimizer hands out the ids up to the value the sequence
+     * returns, so the first value must be at least this far into the shard's block.
+     */
+    private static final long ID_ALLOCATION_SIZE = 50;
+
+    @Bean
+    public ShardRange employeeShardRange(EmployeeShardingProperties properties) {
+        return properties.isEnabled() ? ShardRange.of(properties.getIndex(), properties.getCount()) : ShardRange.FULL;
+    }
+
+    /**
+     * Runs after all singletons are created, i.e. after the schema exists and before the instance registers with
+     * Eureka and the seeder runs.
+     */
+    @Bean
+    public SmartInitializingSingleton shardInitializer(EmployeeShardingProperties properties, ShardRange employeeShardRange,
+                                                       JdbcTemplate jdbcTemplate,
+                                                       ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        return () -> {
+            if (!properties.isEnabled()) {
+                return;
+            }
+            applicationInfoManager.ifAvailable(manager ->
+                    manager.registerAppMetadata(Map.of(ShardRouting.METADATA_KEY, employeeShardRange.toString())));
+            Long employees = jdbcTemplate.queryForObject("select count(*) from employee", Long.class);
+            if (employees != null && employees == 0) {
+                jdbcTemplate.execute("alter sequence employee_seq restart with "
+                        + (properties.getIndex() * ShardRouting.ID_BLOCK + ID_ALLOCATION_SIZE));
+            }
+        };
+    }
+}
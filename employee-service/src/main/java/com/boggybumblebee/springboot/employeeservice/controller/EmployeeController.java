@@ -1,62 +1,108 @@
 package com.boggybumblebee.springboot.employeeservice.controller;
 
+import com.boggybumblebee.springboot.common.sharding.ShardRange;
 import com.boggybumblebee.springboot.employeeservice.model.Employee;
+import com.boggybumblebee.springboot.employeeservice.model.EmployeeField;
 import com.boggybumblebee.springboot.employeeservice.repository.EmployeeRepository;
+import com.boggybumblebee.springboot.employeeservice.service.EmployeeWriter;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/employee")
 public class EmployeeController {
 
     private final EmployeeRepository repository;
+    private final EmployeeWriter writer;
+    private final ShardRange shard;
 
-    public EmployeeController(EmployeeRepository repository) {
+    public EmployeeController(EmployeeRepository repository, EmployeeWriter writer, ShardRange shard) {
         this.repository = repository;
+        this.writer = writer;
+        this.shard = shard;
     }
 
     @Bean
     CommandLineRunner initEmployees(EmployeeRepository repo) {
         return args -> {
-            if (repo.findAll().isEmpty()) {
-                repo.save(new Employee(1L, 1L, "Bert Baxter", 65, "Head of HR"));
-                repo.save(new Employee(2L, 1L, "Mindy Mook", 65, "HR Associate"));
-                repo.save(new Employee(3L, 2L, "Scrooge McDuck", 85, "CFO"));
-                repo.save(new Employee(4L, 2L, "Bob Cratchit", 32, "Clerk"));
-                repo.save(new Employee(5L, 3L, "Adrian Lamo", 85, "Red Team Member"));
-                repo.save(new Employee(6L, 3L, "Kevin Mitnick", 32, "Cyber Security"));
-                repo.save(new Employee(7L, 4L, "Ada Lovelace", 85, "Chief Engineer"));
-                repo.save(new Employee(8L, 5L, "Linus Torvalds", 32, "Intern"));
+            if (repo.count() == 0) {
+                List.of(
+                        new Employee(1L, 1L, "Bert Baxter", 65, "Head of HR"),
+                        new Employee(2L, 1L, "Mindy Mook", 65, "HR Associate"),
+                        new Employee(3L, 2L, "Scrooge McDuck", 85, "CFO"),
+                        new Employee(4L, 2L, "Bob Cratchit", 32, "Clerk"),
+                        new Employee(5L, 3L, "Adrian Lamo", 85, "Red Team Member"),
+                        new Employee(6L, 3L, "Kevin Mitnick", 32, "Cyber Security"),
+                        new Employee(7L, 4L, "Ada Lovelace", 85, "Chief Engineer"),
+                        new Employee(8L, 5L, "Linus Torvalds", 32, "Intern")
+                ).stream().filter(employee -> shard.owns(employee.getDepartmentId())).forEach(repo::save);
             }
         };
     }
 
+    /**
+     * Returns a future only when writes are coalesced: Spring MVC picks the return value handler by the runtime type,
+     * so an uncoalesced write is answered on the request thread instead of through an async dispatch.
+     */
     @PostMapping
-    public Employee add(@RequestBody Employee employee) {
-        return repository.save(employee);
+    public Object add(@RequestBody Employee employee) {
+        checkOwned(employee.getDepartmentId());
+        return writer.isCoalescing() ? writer.add(employee) : writer.save(employee);
     }
 
     @GetMapping
-    public List<Employee> findAll() {
-        return repository.findAll();
+    public List<?> findAll(@RequestParam(name = "fields", required = false) String fields) {
+        List<EmployeeField> selected = select(fields);
+        return selected == null ? repository.findAllViews() : repository.findAllFields(selected);
     }
 
     @GetMapping("/{id}")
     public Employee findById(@PathVariable("id") Long id) {
-        return repository.findById(id).orElseThrow();
+        return repository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee " + id + " not found"));
     }
 
     @GetMapping("/department/{departmentId}")
-    public List<Employee> findByDepartment(@PathVariable("departmentId") Long departmentId) {
-        return repository.findByDepartmentId(departmentId);
+    public List<?> findByDepartment(@PathVariable("departmentId") Long departmentId,
+                                    @RequestParam(name = "fields", required = false) String fields) {
+        checkOwned(departmentId);
+        List<EmployeeField> selected = select(fields);
+        return selected == null
+                ? repository.findViewsByDepartmentId(departmentId)
+                : repository.findFieldsByDepartmentId(departmentId, selected);
+    }
+
+    /**
+     * The fields to query, or null for the full view.
+     */
+    static List<EmployeeField> select(String fields) {
+        try {
+            return EmployeeField.select(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Rejects requests for departments of another shard instead of answering them with an incomplete result.
+     */
+    private void checkOwned(Long departmentId) {
+        if (departmentId != null && !shard.owns(departmentId)) {
+            throw new ResponseStatusException(HttpStatus.MISDIRECTED_REQUEST, "Department " + departmentId + " belongs to another shard");
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.boggybumblebee.springboot.employeeservice.controller;
+
+import com.boggybumblebee.springboot.employeeservice.model.Employee;
+import com.boggybumblebee.springboot.employeeservice.model.EmployeeField;
+import com.boggybumblebee.springboot.employeeservice.model.EmployeeView;
+import com.boggybumblebee.springboot.employeeservice.repository.ReactiveEmployeeRepository;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * WebFlux variant of {@link EmployeeController}, active with the reactive profile.
+ * <p>
+ * List endpoints stream: JSON arrays are written element by element as rows arrive, or one element per line with
+ * application/x-ndjson. Demand from the connection propagates to the database, so a slow client slows the query
+ * down instead of buffering its result.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/employee")
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeRepository repository;
+
+    public ReactiveEmployeeController(ReactiveEmployeeRepository repository) {
+        this.repository = repository;
+    }
+
+    @Bean
+    CommandLineRunner initEmployees(ReactiveEmployeeRepository repo) {
+        return args -> repo.count()
+                .filter(count -> count == 0)
+                .flatMapMany(empty -> Flux.just(
+                        new Employee(null, 1L, "Bert Baxter", 65, "Head of HR"),
+                        new Employee(null, 1L, "Mindy Mook", 65, "HR Associate"),
+                        new Employee(null, 2L, "Scrooge McDuck", 85, "CFO"),
+                        new Employee(null, 2L, "Bob Cratchit", 32, "Clerk"),
+                        new Employee(null, 3L, "Adrian Lamo", 85, "Red Team Member"),
+                        new Employee(null, 3L, "Kevin Mitnick", 32, "Cyber Security"),
+                        new Employee(null, 4L, "Ada Lovelace", 85, "Chief Engineer"),
+                        new Employee(null, 5L, "Linus Torvalds", 32, "Intern")))
+                .concatMap(repo::save)
+                .blockLast();
+    }
+
+    @PostMapping
+    public Mono<Employee> add(@RequestBody Employee employee) {
+        return repository.save(employee);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<?> findAll(@RequestParam(name = "fields", required = false) String fields) {
+        List<EmployeeField> selected = EmployeeController.select(fields);
+        return selected == null ? repository.findAllViews() : repository.findAllFields(selected);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<EmployeeView> findById(@PathVariable("id") Long id) {
+        return repository.findViewById(id).switchIfEmpty(Mono.error(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "Employee " + id + " not found")));
+    }
+
+    @GetMapping(value = "/department/{departmentId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<?> findByDepartment(@PathVariable("departmentId") Long departmentId,
+                                    @RequestParam(name = "fields", required = false) String fields) {
+        List<EmployeeField> selected = EmployeeController.select(fields);
+        return selected == null
+                ? repository.findViewsByDepartmentId(departmentId)
+                : repository.findFieldsByDepartmentId(departmentId, selected);
+    }
+
+}
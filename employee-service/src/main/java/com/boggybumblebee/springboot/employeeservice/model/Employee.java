@@ -3,10 +3,13 @@ package com.boggybumblebee.springboot.employeeservice.model;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
 
 import java.util.Objects;
 
 @Entity
+@Table(indexes = @Index(name = "idx_employee_department_id", columnList = "departmentId"))
 public class Employee {
 
     private @Id
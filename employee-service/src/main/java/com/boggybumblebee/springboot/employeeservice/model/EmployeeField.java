@@ -0,0 +1,63 @@
+package com.boggybumblebee.springboot.employeeservice.model;
+
+import com.boggybumblebee.springboot.common.fields.FieldSelection;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The Employee fields a {@code ?fields=} parameter may select, with the attribute and column each one is read from.
+ */
+public enum EmployeeField {
+
+    ID("id", "id", "id"),
+    DEPARTMENT_ID("departmentId", "departmentId", "department_id"),
+    NAME("name", "name", "name"),
+    AGE("age", "age", "age"),
+    POSITION("position", "position", "position");
+
+    private static final Set<String> NAMES = Arrays.stream(values()).map(EmployeeField::fieldName)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final String fieldName;
+    private final String attribute;
+    private final String column;
+
+    EmployeeField(String fieldName, String attribute, String column) {
+        this.fieldName = fieldName;
+        this.attribute = attribute;
+        this.column = column;
+    }
+
+    public String fieldName() {
+        return fieldName;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    /**
+     * The selected fields in declaration order, or null when all of them are selected.
+     *
+     * @throws IllegalArgumentException for unknown or nested fields
+     */
+    public static List<EmployeeField> select(String fields) {
+        FieldSelection selection = FieldSelection.parse(fields).validate(NAMES);
+        if (selection.isAll()) {
+            return null;
+        }
+        for (String name : selection.names()) {
+            if (!selection.nested(name).isAll()) {
+                throw new IllegalArgumentException("Field '" + name + "' has no nested fields");
+            }
+        }
+        return Arrays.stream(values()).filter(field -> selection.includes(field.fieldName)).toList();
+    }
+}
@@ -0,0 +1,8 @@
+package com.boggybumblebee.springboot.employeeservice.model;
+
+/**
+ * Read-only projection of an Employee: rows are not registered in the persistence context, so list endpoints skip the
+ * entity entry and loaded-state snapshot Hibernate otherwise keeps for every loaded entity.
+ */
+public record EmployeeView(Long id, Long departmentId, String name, int age, String position) {
+}
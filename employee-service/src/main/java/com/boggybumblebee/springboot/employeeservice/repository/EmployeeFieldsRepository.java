@@ -0,0 +1,16 @@
+package com.boggybumblebee.springboot.employeeservice.repository;
+
+import com.boggybumblebee.springboot.employeeservice.model.EmployeeField;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse-fieldset reads: only the selected columns are queried and each row is returned as a field-to-value map.
+ */
+public interface EmployeeFieldsRepository {
+
+    List<Map<String, Object>> findAllFields(List<EmployeeField> fields);
+
+    List<Map<String, Object>> findFieldsByDepartmentId(Long departmentId, List<EmployeeField> fields);
+}
@@ -0,0 +1,63 @@
+package com.boggybumblebee.springboot.employeeservice.repository;
+
+import com.boggybumblebee.springboot.employeeservice.model.EmployeeField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+/**
+ * Builds the JPQL select list from the requested fields; the field set is a closed enum, so no input reaches the query
+ * text.
+ */
+public class EmployeeFieldsRepositoryImpl implements EmployeeFieldsRepository {
+
+    private final EntityManager entityManager;
+
+    public EmployeeFieldsRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(List<EmployeeField> fields) {
+        return rows(query(fields, ""), fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFieldsByDepartmentId(Long departmentId, List<EmployeeField> fields) {
+        TypedQuery<Tuple> query = query(fields, " where e.departmentId = :departmentId");
+        query.setParameter("departmentId", departmentId);
+        return rows(query, fields);
+    }
+
+    private TypedQuery<Tuple> query(List<EmployeeField> fields, String where) {
+        String select = fields.stream()
+                .map(field -> "e." + field.attribute())
+                .collect(Collectors.joining(", "));
+        TypedQuery<Tuple> query = entityManager.createQuery(
+                "select " + select + " from Employee e" + where + " order by e.id", Tuple.class);
+        query.setHint(HINT_FETCH_SIZE, EmployeeRepository.READ_FETCH_SIZE);
+        query.setHint(HINT_READ_ONLY, true);
+        return query;
+    }
+
+    private static List<Map<String, Object>> rows(TypedQuery<Tuple> query, List<EmployeeField> fields) {
+        return query.getResultStream().map(tuple -> {
+            Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+            for (int i = 0; i < fields.size(); i++) {
+                row.put(fields.get(i).fieldName(), tuple.get(i));
+            }
+            return row;
+        }).toList();
+    }
+}
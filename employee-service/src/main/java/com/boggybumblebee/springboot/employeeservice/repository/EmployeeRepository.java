@@ -1,11 +1,35 @@
 package com.boggybumblebee.springboot.employeeservice.repository;
 
 import com.boggybumblebee.springboot.employeeservice.model.Employee;
+import com.boggybumblebee.springboot.employeeservice.model.EmployeeView;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
-    List<Employee> findByDepartmentId(Long departmentId);
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeFieldsRepository {
+
+    int READ_FETCH_SIZE = 1000;
+
+    List<Employee> findByDepartmentId(Long departmentId, Sort sort);
+
+    @Transactional(readOnly = true)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + READ_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select new com.boggybumblebee.springboot.employeeservice.model.EmployeeView(e.id, e.departmentId, e.name, e.age, e.position)"
+            + " from Employee e order by e.id")
+    List<EmployeeView> findAllViews();
+
+    @Transactional(readOnly = true)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + READ_FETCH_SIZE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("select new com.boggybumblebee.springboot.employeeservice.model.EmployeeView(e.id, e.departmentId, e.name, e.age, e.position)"
+            + " from Employee e where e.departmentId = :departmentId order by e.id")
+    List<EmployeeView> findViewsByDepartmentId(@Param("departmentId") Long departmentId);
 }
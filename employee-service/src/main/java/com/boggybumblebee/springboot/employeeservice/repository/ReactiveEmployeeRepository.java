@@ -0,0 +1,122 @@
+package com.boggybumblebee.springboot.employeeservice.repository;
+
+import com.boggybumblebee.springboot.employeeservice.model.Employee;
+import com.boggybumblebee.springboot.employeeservice.model.EmployeeField;
+import com.boggybumblebee.springboot.employeeservice.model.EmployeeView;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * R2DBC counterpart of {@link EmployeeRepository} for the reactive profile.
+ * <p>
+ * Rows are mapped straight to {@link EmployeeView} and emitted as they are read, so list results are never held in
+ * memory as a whole; the driver fetches further rows only as the subscriber requests them.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT_VIEWS = "select id, department_id, name, age, position from employee";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveEmployeeRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<EmployeeView> findAllViews() {
+        return databaseClient.sql(SELECT_VIEWS + " order by id")
+                .filter((statement, next) -> next.execute(statement.fetchSize(EmployeeRepository.READ_FETCH_SIZE)))
+                .map(ReactiveEmployeeRepository::view)
+                .all();
+    }
+
+    public Flux<EmployeeView> findViewsByDepartmentId(Long departmentId) {
+        return databaseClient.sql(SELECT_VIEWS + " where department_id = :departmentId order by id")
+                .bind("departmentId", departmentId)
+                .filter((statement, next) -> next.execute(statement.fetchSize(EmployeeRepository.READ_FETCH_SIZE)))
+                .map(ReactiveEmployeeRepository::view)
+                .all();
+    }
+
+    /**
+     * Sparse-fieldset variant of {@link #findAllViews()}: only the selected columns are read.
+     */
+    public Flux<Map<String, Object>> findAllFields(List<EmployeeField> fields) {
+        return databaseClient.sql(select(fields) + " order by id")
+                .filter((statement, next) -> next.execute(statement.fetchSize(EmployeeRepository.READ_FETCH_SIZE)))
+                .map(row -> fields(row, fields))
+                .all();
+    }
+
+    public Flux<Map<String, Object>> findFieldsByDepartmentId(Long departmentId, List<EmployeeField> fields) {
+        return databaseClient.sql(select(fields) + " where department_id = :departmentId order by id")
+                .bind("departmentId", departmentId)
+                .filter((statement, next) -> next.execute(statement.fetchSize(EmployeeRepository.READ_FETCH_SIZE)))
+                .map(row -> fields(row, fields))
+                .all();
+    }
+
+    public Mono<EmployeeView> findViewById(Long id) {
+        return databaseClient.sql(SELECT_VIEWS + " where id = :id")
+                .bind("id", id)
+                .map(ReactiveEmployeeRepository::view)
+                .one();
+    }
+
+    public Mono<Long> count() {
+        return databaseClient.sql("select count(*) from employee")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * Inserts the employee with a generated id, like the JPA repository does for a new entity.
+     */
+    public Mono<Employee> save(Employee employee) {
+        GenericExecuteSpec insert = databaseClient.sql("insert into employee (department_id, name, age, position)"
+                + " values (:departmentId, :name, :age, :position)");
+        insert = bind(insert, "departmentId", employee.getDepartmentId(), Long.class);
+        insert = bind(insert, "name", employee.getName(), String.class);
+        insert = insert.bind("age", employee.getAge());
+        insert = bind(insert, "position", employee.getPosition(), String.class);
+        return insert.filter((statement, next) -> next.execute(statement.returnGeneratedValues("id")))
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> {
+                    employee.setId(id);
+                    return employee;
+                });
+    }
+
+    private static GenericExecuteSpec bind(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static String select(List<EmployeeField> fields) {
+        return fields.stream().map(EmployeeField::column).collect(Collectors.joining(", ", "select ", " from employee"));
+    }
+
+    private static Map<String, Object> fields(Readable row, List<EmployeeField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>(fields.size() * 2);
+        for (int i = 0; i < fields.size(); i++) {
+            values.put(fields.get(i).fieldName(), row.get(i));
+        }
+        return values;
+    }
+
+    private static EmployeeView view(Readable row) {
+        return new EmployeeView(row.get("id", Long.class), row.get("department_id", Long.class),
+                row.get("name", String.class), row.get("age", Integer.class), row.get("position", String.class));
+    }
+}
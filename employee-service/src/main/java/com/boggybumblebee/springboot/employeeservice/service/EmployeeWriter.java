@@ -0,0 +1,191 @@
+package com.boggybumblebee.springboot.employeeservice.service;
+
+import com.boggybumblebee.springboot.common.concurrent.BoundedQueue;
+import com.boggybumblebee.springboot.employeeservice.config.EmployeeWriteProperties;
+import com.boggybumblebee.springboot.employeeservice.model.Employee;
+import com.boggybumblebee.springboot.employeeservice.repository.EmployeeRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Saves single employees, optionally coalescing concurrent writes into one transaction (group commit).
+ * <p>
+ * With coalescing enabled, writes are queued and a single flusher thread saves up to maxBatchSize of them with one
+ * JDBC batch and one commit, after waiting at most the configured window for the batch to fill. Each caller is
+ * completed with its own saved entity; if the batch fails, its writes are retried one transaction each so that only
+ * the offending caller receives the error. Writes are rejected once the writer is closed.
+ */
+public class EmployeeWriter implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeWriter.class);
+
+    private final EmployeeRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean coalescing;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BoundedQueue<PendingWrite> queue;
+    private final Thread flusher;
+    private volatile boolean running = true;
+    private volatile boolean flusherIdle;
+
+    private final DistributionSummary batchSize;
+    private final Timer queueDelay;
+
+    public EmployeeWriter(EmployeeRepository repository, TransactionTemplate transactionTemplate,
+                          EmployeeWriteProperties properties, MeterRegistry registry) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.coalescing = properties.isCoalescing();
+        this.windowNanos = properties.getWindow().toNanos();
+        this.maxBatchSize = properties.getMaxBatchSize();
+        this.queue = new BoundedQueue<>(properties.getMaxQueued());
+        this.batchSize = DistributionSummary.builder("employee.write.batch.size")
+                .description("Employees saved per transaction")
+                .register(registry);
+        this.queueDelay = Timer.builder("employee.write.queue.delay")
+                .description("Time a write waited for its batch to be flushed")
+                .register(registry);
+        if (coalescing) {
+            this.flusher = new Thread(this::flushLoop, "employee-writer");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    public CompletableFuture<Employee> add(Employee employee) {
+        if (!running) {
+            throw new IllegalStateException("Employee writer is closed");
+        }
+        if (coalescing) {
+            PendingWrite write = new PendingWrite(employee, employee.getId(), System.nanoTime(), new CompletableFuture<>());
+            if (queue.offer(write)) {
+                if (!running) {
+                    // Closed while queuing, possibly after the flusher's final drain.
+                    failQueued();
+                } else if (flusherIdle || queue.size() >= maxBatchSize) {
+                    LockSupport.unpark(flusher);
+                }
+                return write.result();
+            }
+        }
+        return CompletableFuture.completedFuture(save(employee));
+    }
+
+    /**
+     * Saves the employee in its own transaction on the calling thread.
+     */
+    public Employee save(Employee employee) {
+        batchSize.record(1);
+        return repository.save(employee);
+    }
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+
+    /**
+     * Flushes the writes still queued before returning; writes the flusher did not get to are failed.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (flusher != null) {
+            LockSupport.unpark(flusher);
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        List<PendingWrite> remaining = new ArrayList<>();
+        while (queue.drainTo(remaining, maxBatchSize) > 0) {
+            remaining.forEach(write -> write.result().completeExceptionally(
+                    new IllegalStateException("Employee writer is closed")));
+            remaining.clear();
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            if (queue.size() == 0) {
+                flusherIdle = true;
+                if (queue.size() == 0 && running) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                }
+                flusherIdle = false;
+                continue;
+            }
+            if (queue.size() < maxBatchSize) {
+                // Give concurrent writers the window to join the batch.
+                LockSupport.parkNanos(this, windowNanos);
+            }
+            queue.drainTo(batch, maxBatchSize);
+            flush(batch);
+        }
+        while (queue.drainTo(batch, maxBatchSize) > 0) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        batch.forEach(write -> queueDelay.record(now - write.enqueued(), TimeUnit.NANOSECONDS));
+        try {
+            List<Employee> saved = transactionTemplate.execute(status ->
+                    repository.saveAll(batch.stream().map(PendingWrite::employee).toList()));
+            batchSize.record(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.debug("Batch of {} employees failed, retrying individually: {}", batch.size(), e.toString());
+            batch.forEach(this::saveIndividually);
+        } catch (Throwable e) {
+            // Not retried; failing the callers keeps them from waiting forever and the flusher alive.
+            log.error("Batch of {} employees failed", batch.size(), e);
+            batch.forEach(write -> write.result().completeExceptionally(e));
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void saveIndividually(PendingWrite write) {
+        if (write.result().isDone()) {
+            return;
+        }
+        // Undo the id the failed batch may have assigned.
+        write.employee().setId(write.originalId());
+        try {
+            Employee saved = transactionTemplate.execute(status -> repository.save(write.employee()));
+            batchSize.record(1);
+            write.result().complete(saved);
+        } catch (Throwable e) {
+            write.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingWrite(Employee employee, Long originalId, long enqueued, CompletableFuture<Employee> result) {
+    }
+}
@@ -0,0 +1,9 @@
+create table if not exists employee (
+    id bigint generated by default as identity primary key,
+    department_id bigint,
+    name varchar(255),
+    age integer not null,
+    position varchar(255)
+);
+
+create index if not exists idx_employee_department_id on employee (department_id);
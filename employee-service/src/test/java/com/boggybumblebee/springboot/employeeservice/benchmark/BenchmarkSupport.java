@@ -0,0 +1,147 @@
+package com.boggybumblebee.springboot.employeeservice.benchmark;
+
+import com.boggybumblebee.springboot.employeeservice.EmployeeServiceApplication;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.LongPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Boots employee-service without config-server or Eureka, and bulk loads employees over JDBC or R2DBC.
+ */
+final class BenchmarkSupport {
+
+    static final int DEPARTMENTS = 1000;
+    static final long FIRST_ID = 1_000_000L;
+    private static final int INSERT_BATCH = 10_000;
+    private static final String INSERT = "insert into employee (id, department_id, name, age, position) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_R2DBC = "insert into employee (id, department_id, name, age, position) values ($1, $2, $3, $4, $5)";
+
+    /**
+     * Benchmarks drive the servers past their capacity on purpose, so load shedding is off.
+     */
+    private static final String[] SERVER_DEFAULTS = {"server.port=0", "microservice.concurrency-limit.enabled=false",
+            "microservice.warmup.enabled=false", "microservice.request-cost.enabled=false"};
+
+    private BenchmarkSupport() {
+
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return builder(WebApplicationType.NONE).run(arguments(properties));
+    }
+
+    static ConfigurableApplicationContext startWithProfile(String profile, String... properties) {
+        return builder(WebApplicationType.NONE).profiles(profile).run(arguments(properties));
+    }
+
+    /**
+     * Starts with a web server on a random port, see {@link #port(ConfigurableApplicationContext)}.
+     */
+    static ConfigurableApplicationContext startServer(String... properties) {
+        return builder(WebApplicationType.SERVLET).run(arguments(properties, SERVER_DEFAULTS));
+    }
+
+    /**
+     * Starts the WebFlux and R2DBC variant of the reactive profile on a random port.
+     */
+    static ConfigurableApplicationContext startReactiveServer(String... properties) {
+        return builder(WebApplicationType.REACTIVE).profiles("reactive").run(arguments(properties, SERVER_DEFAULTS));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static SpringApplicationBuilder builder(WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(EmployeeServiceApplication.class)
+                .web(webApplicationType)
+                .profiles("standalone");
+    }
+
+    /**
+     * Passes the properties as command line arguments, so that they override the profile's configuration.
+     */
+    private static String[] arguments(String[] properties, String... defaults) {
+        return Stream.of(Stream.of("logging.level.com.boggybumblebee.springboot=WARN"), Stream.of(defaults), Stream.of(properties))
+                .flatMap(Function.identity())
+                .map(property -> "--" + property)
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Inserts employees spread evenly over {@link #DEPARTMENTS} departments, bypassing JPA.
+     */
+    static void seed(ConfigurableApplicationContext context, int employees) {
+        seed(context, employees, departmentId -> true);
+    }
+
+    /**
+     * Inserts only the employees of the given departments, e.g. those owned by a shard.
+     */
+    static void seed(ConfigurableApplicationContext context, int employees, LongPredicate departments) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < employees; i++) {
+            Object[] row = row(i);
+            if (!departments.test((Long) row[1])) {
+                continue;
+            }
+            batch.add(row);
+            if (batch.size() == INSERT_BATCH) {
+                insert(jdbc, batch);
+            }
+        }
+        insert(jdbc, batch);
+    }
+
+    /**
+     * Inserts the same employees as {@link #seed(ConfigurableApplicationContext, int)} into the reactive profile's
+     * R2DBC database.
+     */
+    static void seedReactive(ConfigurableApplicationContext context, int employees) {
+        ConnectionFactory connectionFactory = context.getBean(ConnectionFactory.class);
+        Mono.usingWhen(connectionFactory.create(),
+                connection -> Flux.range(0, (employees + INSERT_BATCH - 1) / INSERT_BATCH)
+                        .concatMap(batch -> {
+                            Statement statement = connection.createStatement(INSERT_R2DBC);
+                            for (int i = batch * INSERT_BATCH; i < Math.min(employees, (batch + 1) * INSERT_BATCH); i++) {
+                                if (i > batch * INSERT_BATCH) {
+                                    statement.add();
+                                }
+                                Object[] row = row(i);
+                                for (int column = 0; column < row.length; column++) {
+                                    statement.bind(column, row[column]);
+                                }
+                            }
+                            return Flux.from(statement.execute()).flatMap(Result::getRowsUpdated);
+                        })
+                        .then(),
+                Connection::close)
+                .block();
+    }
+
+    private static Object[] row(int i) {
+        return new Object[]{FIRST_ID + i, (long) (i % DEPARTMENTS) + 1, "Employee " + i, 20 + i % 45, "Position " + i % 20};
+    }
+
+    private static void insert(JdbcTemplate jdbc, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate(INSERT, batch);
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.boggybumblebee.springboot.employeeservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full list responses versus {@code ?fields=id,name} over HTTP, for one large department and for the whole table.
+ * <p>
+ * The payload size of each variant is printed once per trial; the GC profiler adds the bytes allocated per call, which
+ * covers both the server and the client since they share the JVM. Run {@link #main(String[])} from the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class EmployeeFieldsBenchmark {
+
+    private static final String ALL = "all";
+
+    /**
+     * Spread over {@link BenchmarkSupport#DEPARTMENTS} departments, so 100 and 1000 employees per department.
+     */
+    @Param({"100000", "1000000"})
+    private int employees;
+
+    @Param({ALL, "id,name"})
+    private String fields;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private String query;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = BenchmarkSupport.startServer();
+        BenchmarkSupport.seed(context, employees);
+        httpClient = HttpClient.newHttpClient();
+        baseUrl = "http://localhost:" + BenchmarkSupport.port(context);
+        query = ALL.equals(fields) ? "" : "?fields=" + fields;
+        System.out.printf("%nfields=%s: /employee/department/1 %d bytes, /employee %d bytes%n", fields,
+                get("/employee/department/1").length, get("/employee").length);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] byDepartment() throws IOException, InterruptedException {
+        return get("/employee/department/" + (ThreadLocalRandom.current().nextLong(BenchmarkSupport.DEPARTMENTS) + 1));
+    }
+
+    @Benchmark
+    public byte[] all() throws IOException, InterruptedException {
+        return get("/employee");
+    }
+
+    private byte[] get(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + path + query)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + query + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeFieldsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
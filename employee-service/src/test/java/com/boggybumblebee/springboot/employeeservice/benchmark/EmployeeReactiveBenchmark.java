@@ -0,0 +1,162 @@
+package com.boggybumblebee.springboot.employeeservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MVC and JPA versus WebFlux and R2DBC at high concurrency, serving /employee/department/{departmentId}.
+ * <p>
+ * Next to throughput, each iteration prints the server's footprint per in-flight request: the live threads and the
+ * heap retained after GC beyond the idle baseline while {@value #CONCURRENCY} requests are in flight, divided by that
+ * number. Retained heap is read from the heap pools' usage after their last collection, so garbage that has not been
+ * collected yet does not count.
+ * The client side is identical for both variants, so differences between them come from the server. The GC profiler
+ * adds the bytes allocated per request. Run {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(EmployeeReactiveBenchmark.CONCURRENCY)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class EmployeeReactiveBenchmark {
+
+    static final int CONCURRENCY = 512;
+
+    private static final long SAMPLE_INTERVAL_MILLIS = 50;
+
+    @Param({"mvc", "reactive"})
+    private String variant;
+
+    @Param({"100000"})
+    private int employees;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    private final List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null)
+            .toList();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private long idleRetainedBytes;
+    private int idleThreads;
+    private Thread sampler;
+    private volatile boolean sampling;
+    private long retainedSum;
+    private int threadMax;
+    private int samples;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("reactive".equals(variant)) {
+            context = BenchmarkSupport.startReactiveServer();
+            BenchmarkSupport.seedReactive(context, employees);
+        } else {
+            context = BenchmarkSupport.startServer();
+            BenchmarkSupport.seed(context, employees);
+        }
+        baseUrl = "http://localhost:" + BenchmarkSupport.port(context) + "/employee/department/";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        System.gc();
+        idleRetainedBytes = retainedHeap();
+        idleThreads = threads.getThreadCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void startSampling() {
+        retainedSum = 0;
+        threadMax = 0;
+        samples = 0;
+        sampling = true;
+        sampler = new Thread(() -> {
+            while (sampling) {
+                retainedSum += retainedHeap();
+                threadMax = Math.max(threadMax, threads.getThreadCount());
+                samples++;
+                try {
+                    Thread.sleep(SAMPLE_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "footprint-sampler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportFootprint() throws InterruptedException {
+        sampling = false;
+        sampler.join();
+        if (samples == 0) {
+            return;
+        }
+        // Excludes the client threads, which the benchmark itself adds for both variants.
+        int serverThreads = threadMax - idleThreads - CONCURRENCY;
+        long retainedPerRequest = (retainedSum / samples - idleRetainedBytes) / CONCURRENCY;
+        System.out.printf("%n%s: %d extra server threads, %.1f KB heap retained after GC per in-flight request%n",
+                variant, Math.max(0, serverThreads), retainedPerRequest / 1024.0);
+    }
+
+    /**
+     * The heap in use right after each pool's most recent collection.
+     */
+    private long retainedHeap() {
+        return heapPools.stream().mapToLong(pool -> pool.getCollectionUsage().getUsed()).sum();
+    }
+
+    @Benchmark
+    public int findByDepartment() throws IOException, InterruptedException {
+        long departmentId = ThreadLocalRandom.current().nextLong(BenchmarkSupport.DEPARTMENTS) + 1;
+        HttpResponse<byte[]> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + departmentId)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Department " + departmentId + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeReactiveBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
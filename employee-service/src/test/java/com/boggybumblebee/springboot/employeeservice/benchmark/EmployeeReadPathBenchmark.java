@@ -0,0 +1,95 @@
+package com.boggybumblebee.springboot.employeeservice.benchmark;
+
+import com.boggybumblebee.springboot.employeeservice.model.Employee;
+import com.boggybumblebee.springboot.employeeservice.model.EmployeeView;
+import com.boggybumblebee.springboot.employeeservice.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Managed entities versus read-only projections for the list endpoints, at one million employees. Both read the
+ * employees ordered by id, as the projections do, so that the difference is the cost of the entities alone.
+ * <p>
+ * Run {@link #main(String[])} from the test classpath; the GC profiler reports gc.alloc.rate.norm, the bytes
+ * allocated per call, next to the average latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class EmployeeReadPathBenchmark {
+
+    private static final Sort BY_ID = Sort.by("id");
+
+    @Param({"1000000"})
+    private int employees;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start();
+        BenchmarkSupport.seed(context, employees);
+        repository = context.getBean(EmployeeRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Employee> entitiesByDepartment() {
+        return repository.findByDepartmentId(department(), BY_ID);
+    }
+
+    @Benchmark
+    public List<EmployeeView> viewsByDepartment() {
+        return repository.findViewsByDepartmentId(department());
+    }
+
+    @Benchmark
+    public List<Employee> entitiesAll() {
+        return repository.findAll(BY_ID);
+    }
+
+    @Benchmark
+    public List<EmployeeView> viewsAll() {
+        return repository.findAllViews();
+    }
+
+    private static long department() {
+        return ThreadLocalRandom.current().nextLong(BenchmarkSupport.DEPARTMENTS) + 1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeReadPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.boggybumblebee.springboot.employeeservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time-to-ready of employee-service holding one million employees: reopening the persistent CACHED tables versus
+ * starting in memory and reloading the data set.
+ * <p>
+ * The reload is done with JDBC batches, the cheapest way to reload, so the comparison favours the in-memory mode.
+ * Run {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class EmployeeRestartBenchmark {
+
+    @Param({"1000000"})
+    private int employees;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void createPersistentData() throws IOException {
+        directory = Files.createTempDirectory("employee-restart");
+        try (ConfigurableApplicationContext seeding = startPersistent()) {
+            BenchmarkSupport.seed(seeding, employees);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deletePersistentData() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext persistentReopen() {
+        context = startPersistent();
+        return context;
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext inMemoryReload() {
+        context = BenchmarkSupport.start();
+        BenchmarkSupport.seed(context, employees);
+        return context;
+    }
+
+    private ConfigurableApplicationContext startPersistent() {
+        return BenchmarkSupport.startWithProfile("persistent", "microservice.storage.directory=" + directory);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeRestartBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
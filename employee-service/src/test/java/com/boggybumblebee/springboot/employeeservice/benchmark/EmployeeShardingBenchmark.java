@@ -0,0 +1,110 @@
+package com.boggybumblebee.springboot.employeeservice.benchmark;
+
+import com.boggybumblebee.springboot.common.sharding.ShardRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of /employee/department/{departmentId} as the same data set is split over more shards.
+ * <p>
+ * Every shard is a separate employee-service instance with its own web server and database, started in this JVM on a
+ * random port. Requests are routed to the owning shard with {@link ShardRange}, as the gateway and department-service
+ * do. All shards share this machine's cores, so run it on a host with a few spare cores per shard to see how far
+ * throughput scales. Run {@link #main(String[])} from the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(64)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class EmployeeShardingBenchmark {
+
+    @Param({"1", "2", "4"})
+    private int shards;
+
+    @Param({"1000000"})
+    private int employees;
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private final List<ShardRange> ranges = new ArrayList<>();
+    private final List<String> baseUrls = new ArrayList<>();
+    private HttpClient httpClient;
+
+    @Setup(Level.Trial)
+    public void startShards() {
+        for (int index = 0; index < shards; index++) {
+            ShardRange range = ShardRange.of(index, shards);
+            ConfigurableApplicationContext context = BenchmarkSupport.startServer(
+                    "microservice.employee.sharding.enabled=true",
+                    "microservice.employee.sharding.count=" + shards,
+                    "microservice.employee.sharding.index=" + index);
+            BenchmarkSupport.seed(context, employees, range::owns);
+            contexts.add(context);
+            ranges.add(range);
+            baseUrls.add("http://localhost:" + BenchmarkSupport.port(context) + "/employee/department/");
+        }
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopShards() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+        contexts.clear();
+        ranges.clear();
+        baseUrls.clear();
+    }
+
+    @Benchmark
+    public int findByDepartment() throws IOException, InterruptedException {
+        long departmentId = ThreadLocalRandom.current().nextLong(BenchmarkSupport.DEPARTMENTS) + 1;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrls.get(owner(departmentId)) + departmentId)).build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Department " + departmentId + " returned " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private int owner(long departmentId) {
+        for (int i = 0; i < ranges.size(); i++) {
+            if (ranges.get(i).owns(departmentId)) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No shard owns department " + departmentId);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmployeeShardingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
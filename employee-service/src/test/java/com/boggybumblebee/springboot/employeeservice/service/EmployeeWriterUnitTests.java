@@ -0,0 +1,146 @@
+package com.boggybumblebee.springboot.employeeservice.service;
+
+import com.boggybumblebee.springboot.employeeservice.config.EmployeeWriteProperties;
+import com.boggybumblebee.springboot.employeeservice.model.Employee;
+import com.boggybumblebee.springboot.employeeservice.repository.EmployeeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class EmployeeWriterUnitTests {
+
+    private static final String INVALID = "invalid";
+
+    private final List<Integer> batches = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+    private volatile Error batchError;
+    private EmployeeWriter writer;
+
+    @AfterEach
+    public void close() {
+        if (writer != null) {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testFailedWriteOnlyFailsItsOwnCaller() throws Exception {
+        writer = writer(true);
+
+        CompletableFuture<Employee> first = writer.add(employee("Ada"));
+        CompletableFuture<Employee> invalid = writer.add(employee(INVALID));
+        CompletableFuture<Employee> last = writer.add(employee("Linus"));
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        assertThat(last.get(5, TimeUnit.SECONDS).getId()).isNotNull();
+        assertThat(invalid).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(batches).first().isEqualTo(3);
+    }
+
+    @Test
+    public void testErrorFailsTheBatchAndKeepsTheFlusherRunning() throws Exception {
+        writer = writer(true);
+        batchError = new AssertionError("broken batch");
+
+        CompletableFuture<Employee> failed = writer.add(employee("Ada"));
+
+        assertThat(failed).failsWithin(5, TimeUnit.SECONDS);
+        batchError = null;
+        assertThat(writer.add(employee("Linus")).get(5, TimeUnit.SECONDS).getId()).isNotNull();
+    }
+
+    @Test
+    public void testCloseFlushesQueuedWritesAndRejectsNewOnes() throws Exception {
+        writer = writer(true);
+        CompletableFuture<Employee> queued = writer.add(employee("Ada"));
+
+        writer.close();
+
+        assertThat(queued.get(0, TimeUnit.SECONDS).getId()).isNotNull();
+        assertThatThrownBy(() -> writer.add(employee("Linus"))).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testUncoalescedWritesAreSavedOnTheCallingThread() {
+        writer = writer(false);
+
+        assertThat(writer.add(employee("Ada"))).isCompleted();
+        assertThat(writer.save(employee("Linus")).getId()).isNotNull();
+        assertThat(batches).isEmpty();
+    }
+
+    private EmployeeWriter writer(boolean coalescing) {
+        EmployeeWriteProperties properties = new EmployeeWriteProperties();
+        properties.setCoalescing(coalescing);
+        // Long enough for all writes of a test to join the first batch.
+        properties.setWindow(Duration.ofMillis(200));
+        return new EmployeeWriter(repository(), new TransactionTemplate(new NoOpTransactionManager()), properties,
+                new SimpleMeterRegistry());
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(null, 1L, name, 30, "Engineer");
+    }
+
+    /**
+     * Assigns ids like the database would, and rejects employees named {@link #INVALID}.
+     */
+    @SuppressWarnings("unchecked")
+    private EmployeeRepository repository() {
+        return (EmployeeRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{EmployeeRepository.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> save((Employee) args[0]);
+                    case "saveAll" -> {
+                        if (batchError != null) {
+                            throw batchError;
+                        }
+                        List<Employee> employees = (List<Employee>) args[0];
+                        batches.add(employees.size());
+                        yield employees.stream().map(this::save).toList();
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private Employee save(Employee employee) {
+        if (INVALID.equals(employee.getName())) {
+            throw new IllegalArgumentException("Invalid employee");
+        }
+        employee.setId(ids.incrementAndGet());
+        return employee;
+    }
+
+    static class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.boggybumblebee.springboot.loadtest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "load-test")
+public class LoadTestProperties {
+
+    /**
+     * Open model issues requests at a constant arrival rate, closed model loops a fixed number of users.
+     */
+    public enum Model {
+        OPEN, CLOSED
+    }
+
+    /**
+     * Label of the build under test, recorded in the report so runs of different builds can be compared.
+     */
+    private String build = "local";
+
+    private String scenario = "default";
+
+    private String baseUrl = "http://localhost:8060";
+
+    private Model model = Model.OPEN;
+
+    /**
+     * Requests per second for the open model.
+     */
+    private double rate = 100;
+
+    /**
+     * Upper bound of outstanding requests for the open model; arrivals beyond it are counted as errors.
+     */
+    private int maxInFlight = 1000;
+
+    /**
+     * Virtual users for the closed model.
+     */
+    private int users = 16;
+
+    /**
+     * Pause between two requests of the same virtual user in the closed model.
+     */
+    private Duration thinkTime = Duration.ZERO;
+
+    /**
+     * Requests issued during the warm-up are not recorded.
+     */
+    private Duration warmUp = Duration.ofSeconds(10);
+
+    private Duration duration = Duration.ofSeconds(60);
+
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Where the JSON report is written.
+     */
+    private Path report = Path.of("target", "load-test", "report.json");
+
+    /**
+     * Optional report of a previous run to compare this run against.
+     */
+    private Path baseline;
+
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    public String getBuild() {
+        return build;
+    }
+
+    public void setBuild(String build) {
+        this.build = build;
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public void setScenario(String scenario) {
+        this.scenario = scenario;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public Model getModel() {
+        return model;
+    }
+
+    public void setModel(Model model) {
+        this.model = model;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    public void setThinkTime(Duration thinkTime) {
+        this.thinkTime = thinkTime;
+    }
+
+    public Duration getWarmUp() {
+        return warmUp;
+    }
+
+    public void setWarmUp(Duration warmUp) {
+        this.warmUp = warmUp;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Duration duration) {
+        this.duration = duration;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Path getReport() {
+        return report;
+    }
+
+    public void setReport(Path report) {
+        this.report = report;
+    }
+
+    public Path getBaseline() {
+        return baseline;
+    }
+
+    public void setBaseline(Path baseline) {
+        this.baseline = baseline;
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * One entry of the endpoint mix; it is picked with a probability proportional to its weight.
+     */
+    public static class Endpoint {
+
+        private String name;
+        private String method = "GET";
+        private String path;
+        private String body;
+        private int weight = 1;
+
+        public String getName() {
+            return name != null ? name : method + " " + path;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public void setBody(String body) {
+            this.body = body;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+    }
+}
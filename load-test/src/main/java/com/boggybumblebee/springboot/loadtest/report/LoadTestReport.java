@@ -0,0 +1,65 @@
+package com.boggybumblebee.springboot.loadtest.report;
+
+import com.boggybumblebee.springboot.loadtest.config.LoadTestProperties;
+import com.boggybumblebee.springboot.loadtest.runner.EndpointStats;
+import org.HdrHistogram.Histogram;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Machine-readable result of a run.
+ * <p>
+ * The report deliberately carries no wall-clock timestamps and keeps every map sorted, so two reports of the same
+ * scenario differ only where the measurements differ.
+ */
+public record LoadTestReport(String build, String scenario, String model, double rate, int users,
+                             long durationSeconds, Result total, Map<String, Result> endpoints) {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 95.0, 99.0, 99.9};
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Throughput, error rate and latency percentiles in milliseconds.
+     */
+    public record Result(long requests, long errors, double errorRate, double throughput,
+                         Map<String, Double> latencyMillis) {
+    }
+
+    public static LoadTestReport of(LoadTestProperties properties, Map<String, EndpointStats> stats) {
+        double seconds = properties.getDuration().toMillis() / 1000.0;
+        Histogram total = new Histogram(3);
+        long totalRequests = 0;
+        long totalErrors = 0;
+        Map<String, Result> endpoints = new TreeMap<>();
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().histogram();
+            total.add(histogram);
+            totalRequests += entry.getValue().requests();
+            totalErrors += entry.getValue().errors();
+            endpoints.put(entry.getKey(), result(histogram, entry.getValue().requests(), entry.getValue().errors(), seconds));
+        }
+        return new LoadTestReport(properties.getBuild(), properties.getScenario(), properties.getModel().name(),
+                properties.getRate(), properties.getUsers(), properties.getDuration().toSeconds(),
+                result(total, totalRequests, totalErrors, seconds), endpoints);
+    }
+
+    private static Result result(Histogram histogram, long requests, long errors, double seconds) {
+        Map<String, Double> latency = new LinkedHashMap<>();
+        latency.put("mean", round(histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / NANOS_PER_MILLI));
+        for (double percentile : PERCENTILES) {
+            String name = "p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+            latency.put(name, round(histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI));
+        }
+        latency.put("max", round(histogram.getMaxValue() / NANOS_PER_MILLI));
+        return new Result(requests, errors, round(requests == 0 ? 0 : (double) errors / requests),
+                round(requests / seconds), latency);
+    }
+
+    private static double round(double value) {
+        return BigDecimal.valueOf(value).setScale(3, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -0,0 +1,48 @@
+package com.boggybumblebee.springboot.loadtest.report;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.TreeSet;
+
+/**
+ * Logs the difference between a baseline report and the current one, endpoint by endpoint.
+ */
+public final class ReportComparator {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportComparator.class);
+
+    private ReportComparator() {
+
+    }
+
+    public static void compare(LoadTestReport baseline, LoadTestReport current) {
+        log.info("Comparing build '{}' against baseline build '{}'", current.build(), baseline.build());
+        compare("TOTAL", baseline.total(), current.total());
+        TreeSet<String> names = new TreeSet<>(baseline.endpoints().keySet());
+        names.addAll(current.endpoints().keySet());
+        names.forEach(name -> compare(name, baseline.endpoints().get(name), current.endpoints().get(name)));
+    }
+
+    private static void compare(String name, LoadTestReport.Result baseline, LoadTestReport.Result current) {
+        if (baseline == null || current == null) {
+            log.info("{}: only present in {}", name, baseline == null ? "current run" : "baseline");
+            return;
+        }
+        log.info("{}: throughput {} -> {} req/s ({}), p99 {} -> {} ms ({}), error rate {} -> {}", name,
+                baseline.throughput(), current.throughput(), change(baseline.throughput(), current.throughput()),
+                p99(baseline), p99(current), change(p99(baseline), p99(current)),
+                baseline.errorRate(), current.errorRate());
+    }
+
+    private static double p99(LoadTestReport.Result result) {
+        return result.latencyMillis().getOrDefault("p99", 0.0);
+    }
+
+    private static String change(double before, double after) {
+        if (before == 0) {
+            return "n/a";
+        }
+        return String.format("%+.1f%%", (after - before) * 100 / before);
+    }
+}
@@ -0,0 +1,64 @@
+package com.boggybumblebee.springboot.loadtest.runner;
+
+import com.boggybumblebee.springboot.loadtest.config.LoadTestProperties;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks endpoints with a probability proportional to their weight and builds the matching requests.
+ */
+public class EndpointMix {
+
+    private final List<LoadTestProperties.Endpoint> endpoints;
+    private final int[] cumulativeWeights;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+
+    public EndpointMix(LoadTestProperties properties) {
+        if (properties.getEndpoints().isEmpty()) {
+            throw new IllegalArgumentException("load-test.endpoints must contain at least one endpoint");
+        }
+        this.endpoints = List.copyOf(properties.getEndpoints());
+        this.cumulativeWeights = new int[endpoints.size()];
+        int total = 0;
+        for (int i = 0; i < endpoints.size(); i++) {
+            total += Math.max(endpoints.get(i).getWeight(), 0);
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("load-test.endpoints must have a positive total weight");
+        }
+        this.baseUrl = properties.getBaseUrl();
+        this.requestTimeout = properties.getRequestTimeout();
+    }
+
+    public List<LoadTestProperties.Endpoint> endpoints() {
+        return endpoints;
+    }
+
+    public LoadTestProperties.Endpoint next() {
+        int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints.get(i);
+            }
+        }
+        return endpoints.get(endpoints.size() - 1);
+    }
+
+    public HttpRequest request(LoadTestProperties.Endpoint endpoint) {
+        HttpRequest.BodyPublisher body = endpoint.getBody() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(endpoint.getBody());
+        return HttpRequest.newBuilder(URI.create(baseUrl + endpoint.getPath()))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(endpoint.getMethod(), body)
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.boggybumblebee.springboot.loadtest.runner;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency and error accounting for one endpoint of the mix.
+ */
+public class EndpointStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    public void record(long latencyNanos, boolean success) {
+        recorder.recordValue(Math.max(latencyNanos, 0));
+        requests.increment();
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * An arrival the generator could not issue, e.g. because too many requests were outstanding.
+     */
+    public void recordRejected() {
+        requests.increment();
+        errors.increment();
+    }
+
+    public Histogram histogram() {
+        return recorder.getIntervalHistogram();
+    }
+
+    public long requests() {
+        return requests.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+}
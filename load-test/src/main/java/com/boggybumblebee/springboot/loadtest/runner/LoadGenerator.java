@@ -0,0 +1,132 @@
+package com.boggybumblebee.springboot.loadtest.runner;
+
+import com.boggybumblebee.springboot.loadtest.config.LoadTestProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives the endpoint mix with either an open (constant arrival rate) or a closed (fixed users) workload model.
+ * <p>
+ * Open model latencies are measured from the intended start of each request, so a slow system under test cannot
+ * hide its queueing delay by slowing the generator down (coordinated omission).
+ */
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private final LoadTestProperties properties;
+    private final EndpointMix mix;
+    private final HttpClient client;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    public LoadGenerator(LoadTestProperties properties, HttpClient client) {
+        this.properties = properties;
+        this.mix = new EndpointMix(properties);
+        this.client = client;
+        mix.endpoints().forEach(endpoint -> stats.put(endpoint.getName(), new EndpointStats()));
+    }
+
+    /**
+     * Runs the warm-up and the measured period.
+     *
+     * @return the statistics per endpoint name, covering the measured period only
+     * @throws InterruptedException when interrupted while waiting for outstanding requests
+     */
+    public Map<String, EndpointStats> run() throws InterruptedException {
+        log.info("Running {} model scenario '{}' against {} for {} after {} warm-up", properties.getModel(),
+                properties.getScenario(), properties.getBaseUrl(), properties.getDuration(), properties.getWarmUp());
+        long start = System.nanoTime();
+        long measureFrom = start + properties.getWarmUp().toNanos();
+        long end = measureFrom + properties.getDuration().toNanos();
+        if (properties.getModel() == LoadTestProperties.Model.OPEN) {
+            runOpen(start, measureFrom, end);
+        } else {
+            runClosed(measureFrom, end);
+        }
+        return stats;
+    }
+
+    private void runOpen(long start, long measureFrom, long end) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRate());
+        Semaphore inFlight = new Semaphore(properties.getMaxInFlight());
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            LoadTestProperties.Endpoint endpoint = mix.next();
+            EndpointStats endpointStats = intended >= measureFrom ? stats.get(endpoint.getName()) : null;
+            if (!inFlight.tryAcquire()) {
+                if (endpointStats != null) {
+                    endpointStats.recordRejected();
+                }
+                continue;
+            }
+            client.sendAsync(mix.request(endpoint), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        inFlight.release();
+                        if (endpointStats != null) {
+                            endpointStats.record(System.nanoTime() - intended, failure == null && isSuccess(response));
+                        }
+                    });
+        }
+        if (!inFlight.tryAcquire(properties.getMaxInFlight(), properties.getRequestTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+            log.warn("Outstanding requests did not complete within {}", properties.getRequestTimeout());
+        }
+    }
+
+    private void runClosed(long measureFrom, long end) throws InterruptedException {
+        ExecutorService users = Executors.newFixedThreadPool(properties.getUsers());
+        for (int user = 0; user < properties.getUsers(); user++) {
+            users.execute(() -> userLoop(measureFrom, end));
+        }
+        users.shutdown();
+        long remaining = end - System.nanoTime() + properties.getRequestTimeout().toNanos();
+        if (!users.awaitTermination(remaining, TimeUnit.NANOSECONDS)) {
+            log.warn("Virtual users did not finish within {}", properties.getRequestTimeout());
+            users.shutdownNow();
+        }
+    }
+
+    private void userLoop(long measureFrom, long end) {
+        long thinkTime = properties.getThinkTime().toNanos();
+        while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+            LoadTestProperties.Endpoint endpoint = mix.next();
+            long begin = System.nanoTime();
+            boolean success;
+            try {
+                success = isSuccess(client.send(mix.request(endpoint), HttpResponse.BodyHandlers.discarding()));
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (begin >= measureFrom) {
+                stats.get(endpoint.getName()).record(System.nanoTime() - begin, success);
+            }
+            if (thinkTime > 0) {
+                LockSupport.parkNanos(thinkTime);
+            }
+        }
+    }
+
+    private static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() < 400;
+    }
+}
@@ -0,0 +1,58 @@
+package com.boggybumblebee.springboot.loadtest.runner;
+
+import com.boggybumblebee.springboot.loadtest.config.LoadTestProperties;
+import com.boggybumblebee.springboot.loadtest.report.LoadTestReport;
+import com.boggybumblebee.springboot.loadtest.report.ReportComparator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Component
+public class LoadTestRunner implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private final LoadTestProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public LoadTestRunner(LoadTestProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper.copy()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool();
+        LoadTestReport report;
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(properties.getRequestTimeout())
+                    .executor(executor)
+                    .build();
+            report = LoadTestReport.of(properties, new LoadGenerator(properties, client).run());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Files.createDirectories(properties.getReport().toAbsolutePath().getParent());
+        objectMapper.writeValue(properties.getReport().toFile(), report);
+        log.info("Throughput {} req/s, error rate {}, latency {} ms; report written to {}",
+                report.total().throughput(), report.total().errorRate(), report.total().latencyMillis(),
+                properties.getReport().toAbsolutePath());
+
+        if (properties.getBaseline() != null) {
+            ReportComparator.compare(objectMapper.readValue(properties.getBaseline().toFile(), LoadTestReport.class), report);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.boggybumblebee.springboot.serviceregistry.benchmark;
+
+import com.boggybumblebee.springboot.serviceregistry.ServiceRegistryApplication;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Simulates a fleet of synthetic client instances against an in-process registry and reports how it copes.
+ * <p>
+ * After registering every instance, the harness renews their leases as fast as the heartbeat threads can, while the
+ * fetcher threads poll the delta endpoint like Eureka clients do and a churn thread toggles status overrides so the
+ * deltas are not empty. It reports:
+ * <ul>
+ *     <li>heartbeat throughput and latency, and therefore how many instances a 30 s renewal interval could sustain,</li>
+ *     <li>delta fetch latency and payload size,</li>
+ *     <li>retained heap per registered instance, measured after a full GC,</li>
+ *     <li>CPU time of the registry's timer threads; the cache fill timer rebuilds the read-only response cache, so its
+ *     share is the cost of keeping the cached registry payloads fresh.</li>
+ * </ul>
+ * The registry and the clients share the JVM, so run one profile per invocation and compare the reports, e.g. from the
+ * test classpath with -Xmx2g and the arguments {@code instances=10000 apps=200 duration=60s profile=tuned}.
+ */
+public final class RegistryScaleHarness {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final long RENEWAL_INTERVAL_SECONDS = 30;
+
+    private final Settings settings;
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<SyntheticInstance> instances;
+    private String baseUrl;
+
+    private final Recorder heartbeatLatency = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder deltaLatency = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder heartbeatErrors = new LongAdder();
+    private final LongAdder deltaErrors = new LongAdder();
+    private final LongAdder deltaBytes = new LongAdder();
+    private final LongAdder statusChanges = new LongAdder();
+    private volatile boolean running;
+
+    private RegistryScaleHarness(Settings settings) {
+        this.settings = settings;
+        this.instances = IntStream.range(0, settings.instances())
+                .mapToObj(i -> SyntheticInstance.of(i, settings.apps()))
+                .toList();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new RegistryScaleHarness(Settings.parse(args)).run();
+        System.exit(0);
+    }
+
+    private void run() throws InterruptedException {
+        ConfigurableApplicationContext context = start(settings.profile());
+        try {
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/eureka";
+
+            long heapBefore = usedHeapAfterGc();
+            long registrationStart = System.nanoTime();
+            long registrationErrors = parallel(settings.heartbeatThreads(), instances, this::register);
+            long registrationNanos = System.nanoTime() - registrationStart;
+            long heapAfter = usedHeapAfterGc();
+
+            Map<String, Long> cpuBefore = registryThreadCpu();
+            long loadStart = System.nanoTime();
+            load();
+            long loadNanos = System.nanoTime() - loadStart;
+            Map<String, Long> cpuAfter = registryThreadCpu();
+
+            report(registrationNanos, registrationErrors, heapAfter - heapBefore, loadNanos, cpuBefore, cpuAfter);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext start(String profile) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(ServiceRegistryApplication.class);
+        if (!"default".equals(profile)) {
+            builder.profiles(profile);
+        }
+        return builder.run("--server.port=0", "--logging.level.com.netflix=WARN");
+    }
+
+    private void load() throws InterruptedException {
+        running = true;
+        ExecutorService executor = Executors.newFixedThreadPool(settings.heartbeatThreads() + settings.fetchers() + 1);
+        for (int t = 0; t < settings.heartbeatThreads(); t++) {
+            int first = t;
+            executor.execute(() -> {
+                for (int i = first; running; i += settings.heartbeatThreads()) {
+                    heartbeat(instances.get(i % instances.size()));
+                }
+            });
+        }
+        for (int t = 0; t < settings.fetchers(); t++) {
+            executor.execute(() -> {
+                while (running) {
+                    fetchDelta();
+                    LockSupport.parkNanos(settings.fetchInterval().toNanos());
+                }
+            });
+        }
+        executor.execute(this::churn);
+        Thread.sleep(settings.duration().toMillis());
+        running = false;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private boolean register(SyntheticInstance instance) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/apps/" + instance.app()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(instance.toJson()))
+                .build(), null) / 100 == 2;
+    }
+
+    private void heartbeat(SyntheticInstance instance) {
+        long start = System.nanoTime();
+        int status = send(HttpRequest.newBuilder(URI.create(baseUrl + "/apps/" + instance.app() + "/" + instance.id()
+                        + "?status=UP&lastDirtyTimestamp=" + instance.registeredAt()))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build(), null);
+        heartbeatLatency.recordValue(System.nanoTime() - start);
+        if (status != 200) {
+            heartbeatErrors.increment();
+        }
+    }
+
+    private void fetchDelta() {
+        long start = System.nanoTime();
+        int status = send(HttpRequest.newBuilder(URI.create(baseUrl + "/apps/delta"))
+                .header("Accept", "application/json")
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build(), deltaBytes);
+        deltaLatency.recordValue(System.nanoTime() - start);
+        if (status != 200) {
+            deltaErrors.increment();
+        }
+    }
+
+    /**
+     * Takes random instances out of service and back, each change showing up in the deltas.
+     */
+    private void churn() {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, settings.churnPerSecond());
+        while (running && settings.churnPerSecond() > 0) {
+            SyntheticInstance instance = instances.get(ThreadLocalRandom.current().nextInt(instances.size()));
+            String statusUrl = baseUrl + "/apps/" + instance.app() + "/" + instance.id() + "/status";
+            send(HttpRequest.newBuilder(URI.create(statusUrl + "?value=OUT_OF_SERVICE"))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build(), null);
+            send(HttpRequest.newBuilder(URI.create(statusUrl + "?value=UP")).DELETE().build(), null);
+            statusChanges.add(2);
+            LockSupport.parkNanos(intervalNanos);
+        }
+    }
+
+    private int send(HttpRequest request, LongAdder bytes) {
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (bytes != null) {
+                bytes.add(response.body().length);
+            }
+            return response.statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    /**
+     * Applies the action to every instance from the given number of threads and returns the number of failures.
+     */
+    private static long parallel(int threadCount, List<SyntheticInstance> instances,
+                                 Predicate<SyntheticInstance> action) throws InterruptedException {
+        LongAdder failures = new LongAdder();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        instances.forEach(instance -> executor.execute(() -> {
+            if (!action.test(instance)) {
+                failures.increment();
+            }
+        }));
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        return failures.sum();
+    }
+
+    private long usedHeapAfterGc() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * CPU time of the registry's own timer threads (cache fill, eviction, delta retention, ...), by thread name.
+     */
+    private Map<String, Long> registryThreadCpu() {
+        Map<String, Long> cpu = new TreeMap<>();
+        Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith("Eureka-"))
+                .forEach(thread -> cpu.merge(thread.getName(), Math.max(0, threads.getThreadCpuTime(thread.getId())), Long::sum));
+        return cpu;
+    }
+
+    private void report(long registrationNanos, long registrationErrors, long retainedHeap, long loadNanos,
+                        Map<String, Long> cpuBefore, Map<String, Long> cpuAfter) {
+        double seconds = loadNanos / 1e9;
+        Histogram heartbeats = heartbeatLatency.getIntervalHistogram();
+        Histogram deltas = deltaLatency.getIntervalHistogram();
+        double heartbeatsPerSecond = heartbeats.getTotalCount() / seconds;
+
+        System.out.printf("%nRegistry scale report, profile %s: %d instances in %d apps, %s under load%n",
+                settings.profile(), instances.size(), settings.apps(), settings.duration());
+        System.out.printf("registration       %,.0f instances/s, %d failed%n",
+                instances.size() / (registrationNanos / 1e9), registrationErrors);
+        System.out.printf("heap per instance  %,d bytes retained%n", retainedHeap / instances.size());
+        System.out.printf("heartbeats         %,.0f/s (sustains ~%,.0f instances at %d s), %d failed, %s%n",
+                heartbeatsPerSecond, heartbeatsPerSecond * RENEWAL_INTERVAL_SECONDS, RENEWAL_INTERVAL_SECONDS,
+                heartbeatErrors.sum(), percentiles(heartbeats));
+        System.out.printf("delta fetches      %,d, %d failed, %,d bytes on average, %s%n",
+                deltas.getTotalCount(), deltaErrors.sum(),
+                deltas.getTotalCount() == 0 ? 0 : deltaBytes.sum() / deltas.getTotalCount(), percentiles(deltas));
+        System.out.printf("status changes     %,d%n", statusChanges.sum());
+        cpuAfter.forEach((name, after) -> {
+            long used = after - cpuBefore.getOrDefault(name, 0L);
+            System.out.printf("cpu %-26s %,d ms (%.2f%% of a core)%n", name,
+                    TimeUnit.NANOSECONDS.toMillis(used), 100.0 * used / loadNanos);
+        });
+    }
+
+    private static String percentiles(Histogram histogram) {
+        return String.format("p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms",
+                histogram.getValueAtPercentile(50) / 1e6, histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6, histogram.getMaxValue() / 1e6);
+    }
+
+    record Settings(int instances, int apps, Duration duration, int heartbeatThreads, int fetchers,
+                    Duration fetchInterval, int churnPerSecond, String profile) {
+
+        /**
+         * Parses "name=value" arguments; anything not given keeps its default.
+         */
+        static Settings parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                if (equals > 0) {
+                    values.put(arg.substring(0, equals), arg.substring(equals + 1));
+                }
+            }
+            return new Settings(
+                    Integer.parseInt(values.getOrDefault("instances", "5000")),
+                    Integer.parseInt(values.getOrDefault("apps", "100")),
+                    duration(values.getOrDefault("duration", "60s")),
+                    Integer.parseInt(values.getOrDefault("heartbeatThreads", "32")),
+                    Integer.parseInt(values.getOrDefault("fetchers", "16")),
+                    duration(values.getOrDefault("fetchInterval", "100ms")),
+                    Integer.parseInt(values.getOrDefault("churnPerSecond", "20")),
+                    values.getOrDefault("profile", "default"));
+        }
+
+        private static Duration duration(String value) {
+            return value.endsWith("ms")
+                    ? Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)))
+                    : Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+    }
+
+    record SyntheticInstance(String app, String id, String host, String ip, int port, long registeredAt) {
+
+        static SyntheticInstance of(int index, int apps) {
+            String app = "SYNTHETIC-" + index % apps;
+            String host = "host-" + index;
+            String ip = "10." + (index >> 16 & 0xff) + "." + (index >> 8 & 0xff) + "." + (index & 0xff);
+            return new SyntheticInstance(app, host + ":" + app.toLowerCase() + ":8080", host, ip, 8080,
+                    System.currentTimeMillis());
+        }
+
+        /**
+         * Roughly what a Spring Cloud Eureka client registers, including a few metadata entries.
+         */
+        String toJson() {
+            List<String> fields = new ArrayList<>();
+            fields.add(quoted("instanceId", id));
+            fields.add(quoted("hostName", host));
+            fields.add(quoted("app", app));
+            fields.add(quoted("ipAddr", ip));
+            fields.add(quoted("status", "UP"));
+            fields.add("\"port\":{\"$\":" + port + ",\"@enabled\":\"true\"}");
+            fields.add("\"securePort\":{\"$\":443,\"@enabled\":\"false\"}");
+            fields.add("\"dataCenterInfo\":{\"@class\":\"com.netflix.appinfo.InstanceInfo$DefaultDataCenterInfo\",\"name\":\"MyOwn\"}");
+            fields.add("\"leaseInfo\":{\"renewalIntervalInSecs\":" + RENEWAL_INTERVAL_SECONDS + ",\"durationInSecs\":90}");
+            fields.add("\"metadata\":{\"management.port\":\"" + port + "\",\"zone\":\"zone-" + (host.hashCode() & 3) + "\"}");
+            fields.add(quoted("homePageUrl", "http://" + host + ":" + port + "/"));
+            fields.add(quoted("statusPageUrl", "http://" + host + ":" + port + "/actuator/info"));
+            fields.add(quoted("healthCheckUrl", "http://" + host + ":" + port + "/actuator/health"));
+            fields.add(quoted("vipAddress", app.toLowerCase()));
+            fields.add(quoted("secureVipAddress", app.toLowerCase()));
+            fields.add("\"lastDirtyTimestamp\":\"" + registeredAt + "\"");
+            return "{\"instance\":{" + String.join(",", fields) + "}}";
+        }
+
+        private static String quoted(String name, String value) {
+            return "\"" + name + "\":\"" + value + "\"";
+        }
+    }
+}